@@ -0,0 +1,99 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+// The scheduler lives in the default package, which cannot be imported and which
+// JMH refuses for benchmark classes. These handles bridge to it; static final
+// MethodHandles are constant-folded by the JIT, so calls cost the same as direct ones.
+final class SchedulerAccess {
+    private static final MethodHandle NEW_TABLE;
+    private static final MethodHandle ADD;
+    private static final MethodHandle RUN_PREEMPTIVE;
+    private static final MethodHandle RUN_NON_PREEMPTIVE;
+    private static final MethodHandle WRITE_REPORT;
+
+    static {
+        try {
+            Class<?> table = Class.forName("ProcessTable");
+            Class<?> workload = Class.forName("Workload");
+            Class<?> scheduler = Class.forName("Scheduler");
+            Class<?> result = Class.forName("Scheduler$SchedulingResult");
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            Constructor<?> constructor = table.getDeclaredConstructor(int.class);
+            constructor.setAccessible(true);
+            NEW_TABLE = lookup.unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class, int.class));
+            ADD = handle(lookup, table, "add", int.class, int.class, int.class, int.class)
+                    .asType(MethodType.methodType(void.class, Object.class, int.class, int.class, int.class, int.class));
+            RUN_PREEMPTIVE = handle(lookup, scheduler, "runPreemptive", workload)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            RUN_NON_PREEMPTIVE = handle(lookup, scheduler, "runNonPreemptive", workload)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            WRITE_REPORT = handle(lookup, result, "writeReport", Appendable.class)
+                    .asType(MethodType.methodType(void.class, Object.class, Appendable.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private SchedulerAccess() {
+    }
+
+    private static MethodHandle handle(MethodHandles.Lookup lookup, Class<?> owner, String name,
+                                       Class<?>... parameterTypes) throws ReflectiveOperationException {
+        Method method = owner.getDeclaredMethod(name, parameterTypes);
+        method.setAccessible(true);
+        return lookup.unreflect(method);
+    }
+
+    static Object newTable(int capacity) {
+        try {
+            return (Object) NEW_TABLE.invokeExact(capacity);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static void add(Object table, int id, int arrival, int burst, int priority) {
+        try {
+            ADD.invokeExact(table, id, arrival, burst, priority);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object runPreemptive(Object workload) {
+        try {
+            return (Object) RUN_PREEMPTIVE.invokeExact(workload);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object runNonPreemptive(Object workload) {
+        try {
+            return (Object) RUN_NON_PREEMPTIVE.invokeExact(workload);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static void writeReport(Object result, Appendable out) {
+        try {
+            WRITE_REPORT.invokeExact(result, out);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException e) return e;
+        if (t instanceof Error e) throw e;
+        return new RuntimeException(t);
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+// Throughput of both scheduling algorithms and of report generation. Run with the
+// gc profiler (the :benchmarks:jmh task does) to get allocation rates per operation.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+public class SchedulerBenchmark {
+    @Benchmark
+    public Object preemptive(WorkloadState state) {
+        return SchedulerAccess.runPreemptive(state.workload);
+    }
+
+    @Benchmark
+    public Object nonPreemptive(WorkloadState state) {
+        return SchedulerAccess.runNonPreemptive(state.workload);
+    }
+
+    // Report cost is measured separately from scheduling, on a result computed once per trial
+    @State(Scope.Benchmark)
+    public static class ResultState {
+        Object result;
+
+        @Setup(Level.Trial)
+        public void setUp(WorkloadState workload) {
+            result = SchedulerAccess.runPreemptive(workload.workload);
+        }
+    }
+
+    @Benchmark
+    public void report(ResultState state) {
+        SchedulerAccess.writeReport(state.result, Writer.nullWriter());
+    }
+}
@@ -0,0 +1,97 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+
+// Seeded synthetic workload shared by the scheduler benchmarks. Every parameter
+// combination produces the same process table on every run and JVM.
+@State(Scope.Benchmark)
+public class WorkloadState {
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    public int processCount;
+
+    // dense: everything arrives almost at once; steady: ~90% CPU load; sparse: mostly idle
+    @Param({"dense", "steady", "sparse"})
+    public String arrivalSpread;
+
+    // uniform: 1-10 ticks; exponential: mean 5.5; pareto: heavy tail, alpha 1.5
+    @Param({"uniform", "exponential", "pareto"})
+    public String burstDistribution;
+
+    // none: unique priorities; some: ~10 processes per level; heavy: 8 levels in total
+    @Param({"none", "some", "heavy"})
+    public String priorityCollisions;
+
+    public long seed = 42;
+
+    Object workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] bursts = new int[processCount];
+        long totalBurst = 0;
+        for (int i = 0; i < processCount; i++) {
+            bursts[i] = burst(random);
+            totalBurst += bursts[i];
+        }
+
+        long span = switch (arrivalSpread) {
+            case "dense" -> Math.max(1, processCount / 10);
+            case "steady" -> Math.max(1, (long) (totalBurst / 0.9));
+            case "sparse" -> Math.max(1, totalBurst * 10);
+            default -> throw new IllegalArgumentException("Unknown arrival spread: " + arrivalSpread);
+        };
+        span = Math.min(span, Integer.MAX_VALUE / 2);
+
+        int[] priorities = priorities(random);
+        workload = SchedulerAccess.newTable(processCount);
+        for (int i = 0; i < processCount; i++) {
+            SchedulerAccess.add(workload, i + 1, (int) random.nextLong(span), bursts[i], priorities[i]);
+        }
+    }
+
+    private int burst(SplittableRandom random) {
+        return switch (burstDistribution) {
+            case "uniform" -> 1 + random.nextInt(10);
+            case "exponential" -> 1 + (int) (-4.5 * Math.log(1 - random.nextDouble()));
+            case "pareto" -> (int) Math.min(1_000_000, Math.ceil(Math.pow(1 - random.nextDouble(), -1 / 1.5)));
+            default -> throw new IllegalArgumentException("Unknown burst distribution: " + burstDistribution);
+        };
+    }
+
+    private int[] priorities(SplittableRandom random) {
+        int[] priorities = new int[processCount];
+        switch (priorityCollisions) {
+            case "none" -> {
+                for (int i = 0; i < processCount; i++) {
+                    priorities[i] = i + 1;
+                }
+                for (int i = processCount - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int swap = priorities[i];
+                    priorities[i] = priorities[j];
+                    priorities[j] = swap;
+                }
+            }
+            case "some" -> {
+                int levels = Math.max(1, processCount / 10);
+                for (int i = 0; i < processCount; i++) {
+                    priorities[i] = 1 + random.nextInt(levels);
+                }
+            }
+            case "heavy" -> {
+                for (int i = 0; i < processCount; i++) {
+                    priorities[i] = 1 + random.nextInt(8);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown priority collisions: " + priorityCollisions);
+        }
+        return priorities;
+    }
+}
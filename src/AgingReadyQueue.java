@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+// Ready queue with aging: a process's effective priority improves by one level for
+// every `interval` time units since it arrived, but never beyond `ceiling`.
+//
+// Instead of touching queued entries as time passes, each aging process is keyed by
+// priority * interval + arrival. Its effective priority at time t is
+// (key - t) / interval, so the order between aging processes never changes and a
+// plain heap stays valid. Processes that reach the ceiling all tie there and leave
+// the aging heap for the base ReadyQueue at priority `ceiling`, where ties go by
+// arrival rank. Processes whose own priority is at or above the ceiling never age
+// and go straight to the base queue. Every process moves at most once, so each
+// operation stays O(log n).
+class AgingReadyQueue extends ReadyQueue {
+    private final Scheduler.Aging aging;
+    private final Workload workload;
+    private final int[] byArrival;
+
+    // Aging tier: min-heap on (key, rank), stored in parallel arrays
+    private long[] keys;
+    private int[] ranks;
+    private int agingSize;
+
+    AgingReadyQueue(int capacity, Scheduler.Aging aging, Workload workload, int[] byArrival) {
+        super(capacity);
+        this.aging = aging;
+        this.workload = workload;
+        this.byArrival = byArrival;
+        keys = new long[Math.max(1, capacity)];
+        ranks = new int[Math.max(1, capacity)];
+    }
+
+    @Override
+    boolean isEmpty() {
+        return agingSize == 0 && super.isEmpty();
+    }
+
+    @Override
+    int size() {
+        return agingSize + super.size();
+    }
+
+    @Override
+    void add(int priority, int rank) {
+        if (priority <= aging.ceiling) {
+            super.add(priority, rank);
+            return;
+        }
+        long key = (long) priority * aging.interval + workload.arrival(byArrival[rank]);
+        if (agingSize == keys.length) {
+            keys = Arrays.copyOf(keys, agingSize * 2);
+            ranks = Arrays.copyOf(ranks, agingSize * 2);
+        }
+        int i = agingSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(key, rank, keys[parent], ranks[parent])) break;
+            keys[i] = keys[parent];
+            ranks[i] = ranks[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        ranks[i] = rank;
+    }
+
+    // Processes at the ceiling outrank every process still aging
+    @Override
+    int peek() {
+        return super.isEmpty() ? ranks[0] : super.peek();
+    }
+
+    @Override
+    int poll() {
+        return super.isEmpty() ? pollAging() : super.poll();
+    }
+
+    // Entries at the ceiling have lost their own priority; adding them again with it and
+    // advancing to the same time puts them back in the same order
+    @Override
+    int[] ranks() {
+        int[] base = super.ranks();
+        int[] all = Arrays.copyOf(base, base.length + agingSize);
+        System.arraycopy(ranks, 0, all, base.length, agingSize);
+        return all;
+    }
+
+    // Moves every process that has reached the ceiling by time into the base queue
+    @Override
+    void advanceTo(int time) {
+        long limit = (long) aging.ceiling * aging.interval + time;
+        while (agingSize > 0 && keys[0] <= limit) {
+            super.add(aging.ceiling, pollAging());
+        }
+    }
+
+    @Override
+    int nextReorderTime() {
+        if (agingSize == 0) return Integer.MAX_VALUE;
+        return (int) Math.min(Integer.MAX_VALUE, keys[0] - (long) aging.ceiling * aging.interval);
+    }
+
+    private int pollAging() {
+        int top = ranks[0];
+        long lastKey = keys[--agingSize];
+        int lastRank = ranks[agingSize];
+        int i = 0;
+        int half = agingSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < agingSize && before(keys[child + 1], ranks[child + 1], keys[child], ranks[child])) {
+                child++;
+            }
+            if (!before(keys[child], ranks[child], lastKey, lastRank)) break;
+            keys[i] = keys[child];
+            ranks[i] = ranks[child];
+            i = child;
+        }
+        keys[i] = lastKey;
+        ranks[i] = lastRank;
+        return top;
+    }
+
+    private static boolean before(long keyA, int rankA, long keyB, int rankB) {
+        return keyA != keyB ? keyA < keyB : rankA < rankB;
+    }
+}
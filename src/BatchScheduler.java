@@ -0,0 +1,215 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Headless entry point: schedules a workload file and writes the results to files.
+// Only touches Scheduler and its data classes, so no AWT/Swing class is loaded unless a
+// chart is requested, and then only headless-safe ones.
+//
+// Usage: java BatchScheduler --input workload.csv|workload.bin --output results-dir
+//                            [--policy preemptive|non-preemptive|both] [--cpus N] [--binary]
+//                            [--aging INTERVAL[:CEILING]] [--quantum N [--feedback]]
+//                            [--chart svg|png] [--cache DIR]
+//
+// Inputs ending in .bin are memory-mapped binary workloads (see BinaryWorkload).
+// --binary additionally writes <policy>-result.bin in the binary result format, and
+// <policy>-latency.bin with the waiting and turnaround histograms (see LatencyStats).
+// The summary lists waiting and turnaround percentiles per priority level.
+// With --cpus above 1 the gantt file gains a cpu column and the summary reports
+// per-CPU utilization, makespan and throughput.
+// --aging raises a waiting process one priority level every INTERVAL time units, up to
+// CEILING (default 1), and adds the maximum wait per priority class to the summary.
+// --quantum makes the preemptive policy share the CPU round robin between processes of
+// equal priority, N time units at a time; --feedback turns that into a multilevel
+// feedback queue where a process drops a level for every full quantum it uses.
+// --chart also draws the Gantt chart to <policy>-gantt.svg or <policy>-gantt.png.
+// --cache keeps results in DIR (see ResultCache) and reuses them when the same workload
+// is scheduled again with the same options.
+public class BatchScheduler {
+    public static void main(String[] args) {
+        Path input = null;
+        Path outputDir = Path.of(".");
+        String policy = "both";
+        boolean binary = false;
+        int cpus = 1;
+        Scheduler.Aging aging = null;
+        int quantum = 0;
+        boolean feedback = false;
+        String chart = null;
+        Path cacheDir = null;
+        Scheduler.TimeSlice slice = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--input" -> input = Path.of(value(args, ++i));
+                    case "--output" -> outputDir = Path.of(value(args, ++i));
+                    case "--policy" -> policy = value(args, ++i);
+                    case "--binary" -> binary = true;
+                    case "--cpus" -> cpus = Integer.parseInt(value(args, ++i));
+                    case "--aging" -> aging = parseAging(value(args, ++i));
+                    case "--quantum" -> quantum = Integer.parseInt(value(args, ++i));
+                    case "--feedback" -> feedback = true;
+                    case "--chart" -> chart = value(args, ++i);
+                    case "--cache" -> cacheDir = Path.of(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (input == null) throw new IllegalArgumentException("Missing --input");
+            if (!policy.equals("preemptive") && !policy.equals("non-preemptive") && !policy.equals("both")) {
+                throw new IllegalArgumentException("Unknown policy: " + policy);
+            }
+            if (cpus <= 0) throw new IllegalArgumentException("--cpus must be greater than 0");
+            if (aging != null && cpus > 1) throw new IllegalArgumentException("--aging supports a single CPU only");
+            if (feedback && quantum == 0) throw new IllegalArgumentException("--feedback needs --quantum");
+            if (quantum != 0 && (cpus > 1 || aging != null)) {
+                throw new IllegalArgumentException("--quantum supports a single CPU without aging only");
+            }
+            slice = quantum == 0 ? null : new Scheduler.TimeSlice(quantum, feedback);
+            if (chart != null && !chart.equals("svg") && !chart.equals("png")) {
+                throw new IllegalArgumentException("Unknown chart format: " + chart);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java BatchScheduler --input workload.csv|workload.bin --output results-dir "
+                    + "[--policy preemptive|non-preemptive|both] [--cpus N] [--binary] [--aging INTERVAL[:CEILING]] "
+                    + "[--quantum N [--feedback]] [--chart svg|png] [--cache DIR]");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            Workload workload = readWorkload(input);
+            if (workload.size() == 0) throw new IllegalArgumentException("Workload contains no processes");
+
+            Files.createDirectories(outputDir);
+            ResultCache cache = cacheDir == null ? null : new ResultCache(cacheDir);
+            if (!policy.equals("non-preemptive")) {
+                Scheduler.SchedulingResult result = schedule(workload, true, cpus, aging, slice, cache);
+                writeResults(result, outputDir, "preemptive", binary, chart);
+            }
+            if (!policy.equals("preemptive")) {
+                Scheduler.SchedulingResult result = schedule(workload, false, cpus, aging, null, cache);
+                writeResults(result, outputDir, "non-preemptive", binary, chart);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        return args[i];
+    }
+
+    // "10" or "10:2"
+    private static Scheduler.Aging parseAging(String value) {
+        int colon = value.indexOf(':');
+        if (colon < 0) return new Scheduler.Aging(Integer.parseInt(value), 1);
+        return new Scheduler.Aging(Integer.parseInt(value.substring(0, colon)),
+                Integer.parseInt(value.substring(colon + 1)));
+    }
+
+    static Workload readWorkload(Path input) throws IOException {
+        if (input.getFileName().toString().endsWith(".bin")) {
+            return BinaryWorkload.open(input);
+        }
+        ProcessTable table = new ProcessTable();
+        WorkloadReader.read(input, table::add);
+        return table;
+    }
+
+    // aging, slice (preemptive only) and cache may be null
+    static Scheduler.SchedulingResult schedule(Workload workload, boolean preemptive, int cpus,
+                                               Scheduler.Aging aging, Scheduler.TimeSlice slice,
+                                               ResultCache cache) {
+        if (cache == null) return run(workload, preemptive, cpus, aging, slice);
+        return cache.computeIfAbsent(ResultCache.key(workload, preemptive, cpus, aging, slice), workload,
+                () -> run(workload, preemptive, cpus, aging, slice));
+    }
+
+    private static Scheduler.SchedulingResult run(Workload workload, boolean preemptive, int cpus,
+                                                  Scheduler.Aging aging, Scheduler.TimeSlice slice) {
+        if (slice != null) return Scheduler.runTimeSliced(workload, slice, null);
+        if (cpus > 1) {
+            return preemptive
+                    ? MultiCoreScheduler.runPreemptive(workload, cpus)
+                    : MultiCoreScheduler.runNonPreemptive(workload, cpus);
+        }
+        return preemptive ? Scheduler.runPreemptive(workload, aging) : Scheduler.runNonPreemptive(workload, aging);
+    }
+
+    static void writeResults(Scheduler.SchedulingResult result, Path outputDir, String prefix,
+                             boolean binary, String chart) throws IOException {
+        try (Writer out = Files.newBufferedWriter(outputDir.resolve(prefix + "-summary.txt"), StandardCharsets.UTF_8)) {
+            out.append(result.firstProcessInfo).append("\n\n");
+            result.writeReport(out);
+            out.append('\n');
+        }
+
+        // The report above times itself; the CSV files count towards the same phase
+        long start = SchedulerStats.ENABLED ? System.nanoTime() : 0;
+        try (Writer out = Files.newBufferedWriter(outputDir.resolve(prefix + "-gantt.csv"), StandardCharsets.UTF_8)) {
+            ReportWriter writer = new ReportWriter(out);
+            if (result.coreLanes == null) {
+                out.append("process,start,end\n");
+                writeGantt(out, writer, result.ganttEntries, -1);
+            } else {
+                out.append("cpu,process,start,end\n");
+                for (int cpu = 0; cpu < result.coreLanes.length; cpu++) {
+                    writeGantt(out, writer, result.coreLanes[cpu], cpu);
+                }
+            }
+        }
+
+        try (Writer out = Files.newBufferedWriter(outputDir.resolve(prefix + "-metrics.csv"), StandardCharsets.UTF_8)) {
+            ReportWriter writer = new ReportWriter(out);
+            out.append("process,arrival,burst,priority,finish,waiting,turnaround\n");
+            Workload workload = result.workload;
+            for (int index : result.byId) {
+                writer.appendInt(workload.id(index));
+                out.append(',');
+                writer.appendInt(workload.arrival(index));
+                out.append(',');
+                writer.appendInt(workload.burst(index));
+                out.append(',');
+                writer.appendInt(workload.priority(index));
+                out.append(',');
+                writer.appendInt(result.finish(index));
+                out.append(',');
+                writer.appendInt(result.waiting(index));
+                out.append(',');
+                writer.appendInt(result.turnaround(index));
+                out.append('\n');
+            }
+        }
+        if (SchedulerStats.ENABLED) SchedulerStats.reportWritten(System.nanoTime() - start);
+
+        if (binary) {
+            BinaryWorkload.writeResult(outputDir.resolve(prefix + "-result.bin"), result);
+            LatencyStats.of(result).save(outputDir.resolve(prefix + "-latency.bin"));
+        }
+        if (chart != null) {
+            GanttExporter.write(result, outputDir.resolve(prefix + "-gantt." + chart));
+        }
+    }
+
+    private static void writeGantt(Writer out, ReportWriter writer, GanttEntryList entries,
+                                   int cpu) throws IOException {
+        for (int i = 0; i < entries.size(); i++) {
+            if (cpu >= 0) {
+                writer.appendInt(cpu);
+                out.append(',');
+            }
+            writer.appendInt(entries.processId(i));
+            out.append(',');
+            writer.appendInt(entries.start(i));
+            out.append(',');
+            writer.appendInt(entries.end(i));
+            out.append('\n');
+        }
+    }
+}
@@ -0,0 +1,284 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Fixed-width binary formats for process tables and scheduling results, read and
+// written through memory-mapped FileChannels. Opening a workload maps the file and
+// checks every record against the same rules as the CSV reader.
+//
+// Workload file:  header (magic, version, count, reserved), then count records of
+//                 id, arrival, burst, priority.
+// Result file:    header (magic, version, gantt count, process count), then gantt
+//                 records of process id, start, end, then process records of
+//                 id, finish, waiting, turnaround in id order.
+// All values are little-endian 32-bit ints.
+class BinaryWorkload {
+    static final int WORKLOAD_MAGIC = 0x4C575350; // "PSWL"
+    static final int RESULT_MAGIC = 0x53525350;   // "PSRS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int PROCESS_RECORD_BYTES = 16;
+    static final int GANTT_RECORD_BYTES = 12;
+    static final int STATS_RECORD_BYTES = 16;
+
+    // Records per mapped region; keeps every region well below the 2 GB mapping limit
+    private static final int CHUNK_SHIFT = 26;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private BinaryWorkload() {
+    }
+
+    // Workload backed by read-only mappings of a workload file
+    static class MappedWorkload implements Workload {
+        private final MappedByteBuffer[] chunks;
+        private final int size;
+
+        private MappedWorkload(MappedByteBuffer[] chunks, int size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int id(int index) {
+            return field(index, 0);
+        }
+
+        @Override
+        public int arrival(int index) {
+            return field(index, 4);
+        }
+
+        @Override
+        public int burst(int index) {
+            return field(index, 8);
+        }
+
+        @Override
+        public int priority(int index) {
+            return field(index, 12);
+        }
+
+        private int field(int index, int offset) {
+            return chunks[index >>> CHUNK_SHIFT].getInt((index & CHUNK_MASK) * PROCESS_RECORD_BYTES + offset);
+        }
+    }
+
+    static MappedWorkload open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) throw new IOException(file + " is truncated");
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            checkHeader(header, WORKLOAD_MAGIC, file);
+            int size = header.getInt(8);
+            if (size < 0) throw new IOException(file + " has a negative record count");
+            if (channel.size() < HEADER_BYTES + (long) size * PROCESS_RECORD_BYTES) {
+                throw new IOException(file + " is truncated");
+            }
+
+            // Mappings stay valid after the channel is closed
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(size + CHUNK_MASK) >>> CHUNK_SHIFT];
+            for (int c = 0; c < chunks.length; c++) {
+                long first = (long) c << CHUNK_SHIFT;
+                long records = Math.min(1L << CHUNK_SHIFT, size - first);
+                chunks[c] = map(channel, FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * PROCESS_RECORD_BYTES, records * PROCESS_RECORD_BYTES);
+            }
+            MappedWorkload workload = new MappedWorkload(chunks, size);
+            validate(workload);
+            return workload;
+        }
+    }
+
+    // Applies the CSV reader's rules to every record. Scheduling reads every record anyway,
+    // so this only pages the file in earlier.
+    private static void validate(MappedWorkload workload) {
+        for (int i = 0; i < workload.size(); i++) {
+            String problem = WorkloadReader.problem(workload.id(i), workload.arrival(i), workload.burst(i),
+                    workload.priority(i));
+            if (problem != null) throw new IllegalArgumentException("Record " + (i + 1) + ": " + problem);
+        }
+    }
+
+    static void write(Path file, Workload workload) throws IOException {
+        int size = workload.size();
+        try (FileChannel channel = openForWrite(file)) {
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.putInt(0, WORKLOAD_MAGIC).putInt(4, VERSION).putInt(8, size).putInt(12, 0);
+
+            for (int first = 0; first < size; first += 1 << CHUNK_SHIFT) {
+                int records = Math.min(1 << CHUNK_SHIFT, size - first);
+                MappedByteBuffer chunk = map(channel, FileChannel.MapMode.READ_WRITE,
+                        HEADER_BYTES + (long) first * PROCESS_RECORD_BYTES, (long) records * PROCESS_RECORD_BYTES);
+                for (int i = 0; i < records; i++) {
+                    int index = first + i;
+                    chunk.putInt(workload.id(index)).putInt(workload.arrival(index))
+                            .putInt(workload.burst(index)).putInt(workload.priority(index));
+                }
+            }
+        }
+    }
+
+    // Workload file whose records are written by index rather than in order. Records
+    // are disjoint ranges of the mapping, so threads may fill different rows at once.
+    static class WorkloadWriter {
+        private final MappedByteBuffer[] chunks;
+
+        private WorkloadWriter(MappedByteBuffer[] chunks) {
+            this.chunks = chunks;
+        }
+
+        void put(int index, int id, int arrival, int burst, int priority) {
+            MappedByteBuffer chunk = chunks[index >>> CHUNK_SHIFT];
+            int offset = (index & CHUNK_MASK) * PROCESS_RECORD_BYTES;
+            chunk.putInt(offset, id).putInt(offset + 4, arrival).putInt(offset + 8, burst).putInt(offset + 12, priority);
+        }
+    }
+
+    // Creates a workload file of size records, all zero until written
+    static WorkloadWriter create(Path file, int size) throws IOException {
+        try (FileChannel channel = openForWrite(file)) {
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.putInt(0, WORKLOAD_MAGIC).putInt(4, VERSION).putInt(8, size).putInt(12, 0);
+            return new WorkloadWriter(mapRecords(channel, HEADER_BYTES, size, PROCESS_RECORD_BYTES,
+                    FileChannel.MapMode.READ_WRITE));
+        }
+    }
+
+    static void writeResult(Path file, Scheduler.SchedulingResult result) throws IOException {
+        int ganttCount = result.ganttEntries.size();
+        int processCount = result.byId.length;
+        long ganttBytes = (long) ganttCount * GANTT_RECORD_BYTES;
+        try (FileChannel channel = openForWrite(file)) {
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.putInt(0, RESULT_MAGIC).putInt(4, VERSION).putInt(8, ganttCount).putInt(12, processCount);
+
+            MappedByteBuffer gantt = null;
+            for (int i = 0; i < ganttCount; i++) {
+                if ((i & CHUNK_MASK) == 0) {
+                    gantt = map(channel, FileChannel.MapMode.READ_WRITE, HEADER_BYTES + (long) i * GANTT_RECORD_BYTES,
+                            (long) Math.min(1 << CHUNK_SHIFT, ganttCount - i) * GANTT_RECORD_BYTES);
+                }
+                GanttChartPanel.GanttEntry entry = result.ganttEntries.get(i);
+                gantt.putInt(entry.processId).putInt(entry.start).putInt(entry.end);
+            }
+
+            MappedByteBuffer stats = null;
+            for (int i = 0; i < processCount; i++) {
+                if ((i & CHUNK_MASK) == 0) {
+                    stats = map(channel, FileChannel.MapMode.READ_WRITE,
+                            HEADER_BYTES + ganttBytes + (long) i * STATS_RECORD_BYTES,
+                            (long) Math.min(1 << CHUNK_SHIFT, processCount - i) * STATS_RECORD_BYTES);
+                }
+                int index = result.byId[i];
+                stats.putInt(result.workload.id(index)).putInt(result.finish(index))
+                        .putInt(result.waiting(index)).putInt(result.turnaround(index));
+            }
+        }
+    }
+
+    // Read-only view of a result file written by writeResult
+    static class MappedResult {
+        private final MappedByteBuffer[] ganttChunks;
+        private final MappedByteBuffer[] statsChunks;
+        final int ganttCount;
+        final int processCount;
+
+        private MappedResult(MappedByteBuffer[] ganttChunks, MappedByteBuffer[] statsChunks,
+                             int ganttCount, int processCount) {
+            this.ganttChunks = ganttChunks;
+            this.statsChunks = statsChunks;
+            this.ganttCount = ganttCount;
+            this.processCount = processCount;
+        }
+
+        GanttChartPanel.GanttEntry ganttEntry(int i) {
+            MappedByteBuffer chunk = ganttChunks[i >>> CHUNK_SHIFT];
+            int offset = (i & CHUNK_MASK) * GANTT_RECORD_BYTES;
+            return new GanttChartPanel.GanttEntry(chunk.getInt(offset), chunk.getInt(offset + 4),
+                    chunk.getInt(offset + 8));
+        }
+
+        int processId(int i) {
+            return stat(i, 0);
+        }
+
+        int finish(int i) {
+            return stat(i, 4);
+        }
+
+        int waiting(int i) {
+            return stat(i, 8);
+        }
+
+        int turnaround(int i) {
+            return stat(i, 12);
+        }
+
+        private int stat(int i, int offset) {
+            return statsChunks[i >>> CHUNK_SHIFT].getInt((i & CHUNK_MASK) * STATS_RECORD_BYTES + offset);
+        }
+    }
+
+    static MappedResult openResult(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) throw new IOException(file + " is truncated");
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            checkHeader(header, RESULT_MAGIC, file);
+            int ganttCount = header.getInt(8);
+            int processCount = header.getInt(12);
+            if (ganttCount < 0 || processCount < 0) throw new IOException(file + " has a negative record count");
+            long ganttBytes = (long) ganttCount * GANTT_RECORD_BYTES;
+            if (channel.size() < HEADER_BYTES + ganttBytes + (long) processCount * STATS_RECORD_BYTES) {
+                throw new IOException(file + " is truncated");
+            }
+            return new MappedResult(
+                    mapRecords(channel, HEADER_BYTES, ganttCount, GANTT_RECORD_BYTES),
+                    mapRecords(channel, HEADER_BYTES + ganttBytes, processCount, STATS_RECORD_BYTES),
+                    ganttCount, processCount);
+        }
+    }
+
+    private static MappedByteBuffer[] mapRecords(FileChannel channel, long position, int count,
+                                                 int recordBytes) throws IOException {
+        return mapRecords(channel, position, count, recordBytes, FileChannel.MapMode.READ_ONLY);
+    }
+
+    private static MappedByteBuffer[] mapRecords(FileChannel channel, long position, int count,
+                                                 int recordBytes, FileChannel.MapMode mode) throws IOException {
+        MappedByteBuffer[] chunks = new MappedByteBuffer[(count + CHUNK_MASK) >>> CHUNK_SHIFT];
+        for (int c = 0; c < chunks.length; c++) {
+            long first = (long) c << CHUNK_SHIFT;
+            long records = Math.min(1L << CHUNK_SHIFT, count - first);
+            chunks[c] = map(channel, mode, position + first * recordBytes, records * recordBytes);
+        }
+        return chunks;
+    }
+
+    private static FileChannel openForWrite(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long position,
+                                        long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(mode, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static void checkHeader(MappedByteBuffer header, int magic, Path file) throws IOException {
+        if (header.getInt(0) != magic) {
+            throw new IOException(file + " is not a scheduler binary file of the expected kind");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException(file + " has unsupported version " + header.getInt(4));
+        }
+    }
+}
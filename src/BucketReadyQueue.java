@@ -0,0 +1,188 @@
+import java.util.Arrays;
+
+// Ready queue for priorities within a bounded range: one FIFO list per priority level and
+// a two-level bitmap of the non-empty levels. The best level is found with two
+// Long.numberOfTrailingZeros calls, so add, peek and poll are all O(1). Lists are linked
+// through an array indexed by rank, so nothing is allocated per entry.
+//
+// Scheduler adds processes in arrival order and a running process stays queued until it
+// completes, so FIFO order within a level is rank order and the schedule is the same as
+// with the heap.
+//
+// With a TimeSlice the queue also shares the CPU within a level. The process at the front
+// of the best level gets `quantum` time units; when they are used up it goes to the back
+// of its level (round robin), or with feedback one level down, where its next slices are
+// twice as long (multilevel feedback). A process alone in its level simply starts a new
+// slice. A process preempted by a better level starts a fresh slice when it runs again.
+class BucketReadyQueue extends ReadyQueue {
+    static final int MAX_LEVELS = 64 * 64;
+    // Feedback slices stop doubling after this many demotions
+    private static final int MAX_DOUBLINGS = 20;
+
+    private final int minPriority;
+    private final int lowestLevel;
+    private final Scheduler.TimeSlice slice;
+    private final int[] head;
+    private final int[] tail;
+    private final long[] words;
+    private long summary;
+    private int size;
+    // Per rank: the next entry in the same level, the level, and feedback demotions
+    private int[] next;
+    private int[] levels;
+    private int[] demotions;
+    // The process whose slice is running, or -1
+    private int sliceOwner = -1;
+    private int sliceEnd;
+
+    // Priorities must lie in [minPriority, maxPriority]; slice may be null
+    BucketReadyQueue(int capacity, int minPriority, int maxPriority, Scheduler.TimeSlice slice) {
+        super(1);
+        long levelCount = (long) maxPriority - minPriority + 1;
+        if (levelCount <= 0 || levelCount > MAX_LEVELS) {
+            throw new IllegalArgumentException("Priorities " + minPriority + ".." + maxPriority
+                    + " span more than " + MAX_LEVELS + " levels");
+        }
+        this.minPriority = minPriority;
+        this.lowestLevel = (int) levelCount - 1;
+        this.slice = slice;
+        head = new int[(int) levelCount];
+        tail = new int[(int) levelCount];
+        Arrays.fill(head, -1);
+        words = new long[((int) levelCount + 63) >>> 6];
+        capacity = Math.max(1, capacity);
+        next = new int[capacity];
+        levels = new int[capacity];
+        demotions = slice != null && slice.feedback ? new int[capacity] : null;
+    }
+
+    @Override
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    void add(int priority, int rank) {
+        int level = priority - minPriority;
+        if (level < 0 || level > lowestLevel) {
+            throw new IllegalArgumentException("Priority " + priority + " is outside "
+                    + minPriority + ".." + (minPriority + lowestLevel));
+        }
+        if (rank >= next.length) {
+            int capacity = Math.max(rank + 1, next.length * 2);
+            next = Arrays.copyOf(next, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            if (demotions != null) demotions = Arrays.copyOf(demotions, capacity);
+        }
+        if (demotions != null) demotions[rank] = 0;
+        append(level, rank);
+        size++;
+    }
+
+    @Override
+    int peek() {
+        return head[bestLevel()];
+    }
+
+    @Override
+    int poll() {
+        int rank = removeFront(bestLevel());
+        size--;
+        if (rank == sliceOwner) sliceOwner = -1;
+        return rank;
+    }
+
+    // Levels best first, FIFO within each
+    @Override
+    int[] ranks() {
+        int[] ranks = new int[size];
+        int count = 0;
+        for (int level = 0; level <= lowestLevel; level++) {
+            for (int rank = head[level]; rank >= 0; rank = next[rank]) {
+                ranks[count++] = rank;
+            }
+        }
+        return ranks;
+    }
+
+    // Ends the running slice if time has reached its end and starts the slice of whichever
+    // process is then at the front
+    @Override
+    void advanceTo(int time) {
+        if (slice == null || size == 0) return;
+        int level = bestLevel();
+        int front = head[level];
+        if (front == sliceOwner && time >= sliceEnd) {
+            if (!slice.feedback && time > sliceEnd) {
+                // nextReorderTime let the slices of a process alone in its level pass
+                // unseen; catch up to the first slice boundary at or after time
+                long quantum = slice.quantum;
+                long end = sliceEnd + (time - sliceEnd + quantum - 1) / quantum * quantum;
+                sliceEnd = (int) Math.min(Integer.MAX_VALUE, end);
+                if (sliceEnd > time) return;
+            }
+            int to = slice.feedback ? Math.min(level + 1, lowestLevel) : level;
+            if (head[level] == tail[level] && to == level) {
+                sliceEnd = sliceEnd(time, front);
+                return;
+            }
+            removeFront(level);
+            if (to != level) demotions[front]++;
+            append(to, front);
+            front = head[bestLevel()];
+            sliceOwner = -1;
+        }
+        if (front != sliceOwner) {
+            sliceOwner = front;
+            sliceEnd = sliceEnd(time, front);
+        }
+    }
+
+    @Override
+    int nextReorderTime() {
+        if (slice == null || sliceOwner < 0) return Integer.MAX_VALUE;
+        int level = levels[sliceOwner];
+        // Round robin with nobody else in the level: the next slice would change nothing
+        if (!slice.feedback && head[level] == tail[level]) return Integer.MAX_VALUE;
+        return sliceEnd;
+    }
+
+    private int sliceEnd(int time, int rank) {
+        long quantum = slice.quantum;
+        if (demotions != null) quantum <<= Math.min(demotions[rank], MAX_DOUBLINGS);
+        return (int) Math.min(Integer.MAX_VALUE, time + quantum);
+    }
+
+    private int bestLevel() {
+        int word = Long.numberOfTrailingZeros(summary);
+        return (word << 6) + Long.numberOfTrailingZeros(words[word]);
+    }
+
+    private void append(int level, int rank) {
+        levels[rank] = level;
+        next[rank] = -1;
+        if (head[level] < 0) {
+            head[level] = rank;
+            words[level >>> 6] |= 1L << level;
+            summary |= 1L << (level >>> 6);
+        } else {
+            next[tail[level]] = rank;
+        }
+        tail[level] = rank;
+    }
+
+    private int removeFront(int level) {
+        int rank = head[level];
+        head[level] = next[rank];
+        if (head[level] < 0) {
+            words[level >>> 6] &= ~(1L << level);
+            if (words[level >>> 6] == 0) summary &= ~(1L << (level >>> 6));
+        }
+        return rank;
+    }
+}
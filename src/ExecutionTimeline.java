@@ -0,0 +1,199 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+// Execution timeline stored as runs of consecutive ticks of one process. Per-tick
+// ExecutionStep values are only created when the list is read, so memory scales
+// with the number of context switches rather than with simulated time.
+class ExecutionTimeline extends AbstractList<Scheduler.ExecutionStep> implements RandomAccess {
+    private final String completionAction;
+    private int[] processIds = new int[16];
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int[] remainingAtStart = new int[16];
+    private int[] stepOffsets = new int[16];
+    // Latest end over runs [0, i]; runs of different CPUs can overlap, so ends alone
+    // are not sorted
+    private int[] maxEnds = new int[16];
+    private int runCount;
+    private int stepCount;
+    // Run numbers grouped by process id, built on first use by runsOf
+    private int[] runsByProcess;
+
+    ExecutionTimeline(String completionAction) {
+        this.completionAction = completionAction;
+    }
+
+    // Records that processId ran over [start, end) with remaining time remaining at start
+    void append(int processId, int start, int end, int remaining) {
+        if (end <= start) return;
+        runsByProcess = null;
+
+        // Extend the previous run when the same process simply kept running
+        if (runCount > 0) {
+            int last = runCount - 1;
+            if (processIds[last] == processId && ends[last] == start
+                    && remainingAtStart[last] - (ends[last] - starts[last]) == remaining) {
+                ends[last] = end;
+                maxEnds[last] = Math.max(maxEnds[last], end);
+                stepCount += end - start;
+                return;
+            }
+        }
+
+        if (runCount == processIds.length) {
+            int capacity = runCount * 2;
+            processIds = Arrays.copyOf(processIds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            remainingAtStart = Arrays.copyOf(remainingAtStart, capacity);
+            stepOffsets = Arrays.copyOf(stepOffsets, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+        }
+        processIds[runCount] = processId;
+        starts[runCount] = start;
+        ends[runCount] = end;
+        remainingAtStart[runCount] = remaining;
+        stepOffsets[runCount] = stepCount;
+        maxEnds[runCount] = runCount > 0 ? Math.max(maxEnds[runCount - 1], end) : end;
+        runCount++;
+        stepCount += end - start;
+    }
+
+    // Copy of the first runs runs with the last one ending at lastEnd, i.e. the timeline
+    // as it was before later appends extended that run
+    ExecutionTimeline prefix(int runs, int lastEnd) {
+        ExecutionTimeline copy = new ExecutionTimeline(completionAction);
+        int capacity = Math.max(16, runs);
+        copy.processIds = Arrays.copyOf(processIds, capacity);
+        copy.starts = Arrays.copyOf(starts, capacity);
+        copy.ends = Arrays.copyOf(ends, capacity);
+        copy.remainingAtStart = Arrays.copyOf(remainingAtStart, capacity);
+        copy.stepOffsets = Arrays.copyOf(stepOffsets, capacity);
+        copy.maxEnds = Arrays.copyOf(maxEnds, capacity);
+        copy.runCount = runs;
+        if (runs > 0) {
+            int last = runs - 1;
+            copy.ends[last] = lastEnd;
+            copy.maxEnds[last] = last > 0 ? Math.max(copy.maxEnds[last - 1], lastEnd) : lastEnd;
+            copy.stepCount = stepOffsets[last] + lastEnd - starts[last];
+        }
+        return copy;
+    }
+
+    String completionAction() {
+        return completionAction;
+    }
+
+    int runCount() {
+        return runCount;
+    }
+
+    int runProcessId(int run) {
+        return processIds[run];
+    }
+
+    int runStart(int run) {
+        return starts[run];
+    }
+
+    int runEnd(int run) {
+        return ends[run];
+    }
+
+    int runRemainingAtStart(int run) {
+        return remainingAtStart[run];
+    }
+
+    // Index of the first step belonging to the given run
+    int runStepOffset(int run) {
+        return stepOffsets[run];
+    }
+
+    // Run containing the step at the given index
+    int runOfStep(int index) {
+        int run = Arrays.binarySearch(stepOffsets, 0, runCount, index);
+        return run >= 0 ? run : -run - 2;
+    }
+
+    // Index of the first step of a run still going at time (the step at time itself, or the
+    // run's first step if it starts later), or size() when every run ends by time
+    int indexOfTime(int time) {
+        int low = 0, high = runCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] > time) high = mid;
+            else low = mid + 1;
+        }
+        if (low == runCount) return stepCount;
+        return stepOffsets[low] + Math.max(0, time - starts[low]);
+    }
+
+    // Runs of one process in timeline order. Uses an index of runs grouped by process
+    // id that is built once, so each lookup is a binary search.
+    int[] runsOf(int processId) {
+        if (runsByProcess == null) {
+            runsByProcess = IndexSort.sort(IndexSort.identity(runCount), processIds);
+        }
+        int from = firstRunWithProcessAtLeast(processId);
+        int to = firstRunWithProcessAtLeast(processId + 1L);
+        return Arrays.copyOfRange(runsByProcess, from, to);
+    }
+
+    private int firstRunWithProcessAtLeast(long processId) {
+        int low = 0, high = runsByProcess.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (processIds[runsByProcess[mid]] >= processId) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    @Override
+    public int size() {
+        return stepCount;
+    }
+
+    @Override
+    public Scheduler.ExecutionStep get(int index) {
+        if (index < 0 || index >= stepCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + stepCount);
+        }
+        int run = runOfStep(index);
+        return stepAt(run, starts[run] + (index - stepOffsets[run]));
+    }
+
+    @Override
+    public Iterator<Scheduler.ExecutionStep> iterator() {
+        return new Iterator<>() {
+            private int run;
+            private int time = runCount > 0 ? starts[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                return run < runCount;
+            }
+
+            @Override
+            public Scheduler.ExecutionStep next() {
+                if (run >= runCount) throw new NoSuchElementException();
+                Scheduler.ExecutionStep step = stepAt(run, time++);
+                if (time == ends[run] && ++run < runCount) {
+                    time = starts[run];
+                }
+                return step;
+            }
+        };
+    }
+
+    // Step of the given run at the given time, which must lie in [runStart, runEnd)
+    Scheduler.ExecutionStep stepAt(int run, int time) {
+        int remainingTime = remainingAtStart[run] - (time - starts[run]) - 1;
+        boolean isCompletion = remainingTime == 0;
+        return new Scheduler.ExecutionStep(time, processIds[run], remainingTime,
+                isCompletion ? completionAction : "executing", isCompletion);
+    }
+}
@@ -0,0 +1,139 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+
+// Execution Timeline tab. Rows come from a list model over ExecutionTimeline that
+// formats a step only when Swing asks for it, so only the visible rows are ever turned
+// into text. Jumping to a time and filtering by process go through the timeline's
+// indexes instead of scanning the steps.
+class ExecutionTimelinePanel extends JPanel {
+    private final StepListModel model = new StepListModel();
+    private final JList<String> list = new JList<>(model);
+    private final JTextField processField = new JTextField(6);
+    private final JTextField timeField = new JTextField(6);
+    private final JLabel countLabel = new JLabel(" ");
+
+    ExecutionTimelinePanel() {
+        super(new BorderLayout(5, 5));
+        setBackground(new Color(250, 250, 250));
+
+        list.setFont(new Font("Consolas", Font.PLAIN, 12));
+        list.setBackground(new Color(250, 250, 250));
+        // A prototype gives every row the same size, so the list never measures all rows
+        list.setPrototypeCellValue("Time 0000000000: Process P0000000000 executing (remaining: 0000000000)");
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+
+        JButton filterButton = new JButton("Filter");
+        JButton goButton = new JButton("Go");
+        filterButton.addActionListener(e -> applyFilter());
+        processField.addActionListener(e -> applyFilter());
+        goButton.addActionListener(e -> jumpToTime());
+        timeField.addActionListener(e -> jumpToTime());
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        controls.setOpaque(false);
+        controls.add(new JLabel("Process:"));
+        controls.add(processField);
+        controls.add(filterButton);
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Time:"));
+        controls.add(timeField);
+        controls.add(goButton);
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(countLabel);
+
+        add(controls, BorderLayout.NORTH);
+        add(new JScrollPane(list), BorderLayout.CENTER);
+    }
+
+    // timeline may be null to clear the view
+    void setTimeline(ExecutionTimeline timeline) {
+        processField.setText("");
+        model.show(timeline, null);
+        updateCount();
+    }
+
+    // Blank shows every process
+    private void applyFilter() {
+        if (model.timeline == null) return;
+        String text = processField.getText().trim().replaceFirst("^[Pp]", "");
+        try {
+            model.show(model.timeline, text.isEmpty() ? null : model.timeline.runsOf(Integer.parseInt(text)));
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a process id.", "Input Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        updateCount();
+    }
+
+    private void jumpToTime() {
+        if (model.getSize() == 0) return;
+        try {
+            int index = Math.min(model.indexOfTime(Integer.parseInt(timeField.getText().trim())), model.getSize() - 1);
+            list.setSelectedIndex(index);
+            list.ensureIndexIsVisible(index);
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a time.", "Input Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void updateCount() {
+        countLabel.setText(model.timeline == null ? " " : model.getSize() + " steps");
+    }
+
+    // Rows are steps of the timeline, or of a subset of its runs when filtered
+    private static class StepListModel extends AbstractListModel<String> {
+        ExecutionTimeline timeline;
+        private int[] runs;            // null when showing every run
+        private int[] stepOffsets;     // first row of each filtered run, plus the total
+        private int size;
+
+        void show(ExecutionTimeline timeline, int[] runs) {
+            int oldSize = size;
+            this.timeline = timeline;
+            this.runs = runs;
+            if (timeline == null) {
+                size = 0;
+            } else if (runs == null) {
+                size = timeline.size();
+            } else {
+                stepOffsets = new int[runs.length + 1];
+                for (int i = 0; i < runs.length; i++) {
+                    stepOffsets[i + 1] = stepOffsets[i] + timeline.runEnd(runs[i]) - timeline.runStart(runs[i]);
+                }
+                size = stepOffsets[runs.length];
+            }
+            if (oldSize > 0) fireIntervalRemoved(this, 0, oldSize - 1);
+            if (size > 0) fireIntervalAdded(this, 0, size - 1);
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            if (runs == null) return timeline.get(index).toString();
+            int i = Arrays.binarySearch(stepOffsets, 0, runs.length, index);
+            if (i < 0) i = -i - 2;
+            int run = runs[i];
+            return timeline.stepAt(run, timeline.runStart(run) + index - stepOffsets[i]).toString();
+        }
+
+        // Row of the first step at or after time
+        int indexOfTime(int time) {
+            if (runs == null) return timeline.indexOfTime(time);
+            // A process runs on one CPU at a time, so its runs are ordered and disjoint
+            int low = 0, high = runs.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timeline.runEnd(runs[mid]) > time) high = mid;
+                else low = mid + 1;
+            }
+            if (low == runs.length) return size;
+            return stepOffsets[low] + Math.max(0, time - timeline.runStart(runs[low]));
+        }
+    }
+}
@@ -1,10 +1,25 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+// Gantt chart with zoom (Ctrl + mouse wheel) and panning (drag). The chart is drawn into
+// fixed-width tiles on a background thread and kept in an LRU cache under a memory
+// budget, so scrolling mostly copies finished images. A tile that is not ready yet is
+// stood in for by a scaled tile from a nearby zoom level, or drawn directly.
 class GanttChartPanel extends JPanel {
     static class GanttEntry {
         int processId, start, end;
@@ -15,141 +30,726 @@ class GanttChartPanel extends JPanel {
         }
     }
 
-    private List<GanttEntry> ganttEntries = new ArrayList<>();
-    private static final Color[] COLORS = {
+    private static final int LANE_HEIGHT = 40;
+    // Also used by GanttExporter, so exported charts match the panel
+    static final Color[] COLORS = {
             new Color(255, 102, 102), new Color(102, 255, 102), new Color(102, 102, 255),
             new Color(255, 255, 102), new Color(255, 102, 255), new Color(102, 255, 255),
             new Color(255, 178, 102), new Color(178, 102, 255)
     };
+    private static final Color GRID_COLOR = new Color(200, 200, 200);
+    // Strips standing for several processes that share a pixel column
+    private static final Color MIXED_COLOR = new Color(150, 150, 150);
+    private static final Font EMPTY_FONT = new Font("Segoe UI", Font.PLAIN, 14);
+    private static final Font TICK_FONT = new Font("Segoe UI", Font.PLAIN, 10);
+    private static final Font LANE_FONT = new Font("Segoe UI", Font.BOLD, 12);
+    private static final Font LEGEND_FONT = new Font("Segoe UI", Font.PLAIN, 12);
+    private static final int MIN_BAR_WIDTH = 10;
+    // Below one pixel per time unit, bars narrower than this are drawn as plain strips
+    private static final int MIN_DETAIL_WIDTH = 3;
+    // Widest chart at the initial zoom; longer schedules start below one pixel per time
+    // unit and sub-pixel bars merge into strips
+    private static final int FIT_CONTENT_WIDTH = 1 << 20;
+    // Limits for zooming in: chart width, and pixels per time unit
+    private static final int MAX_CONTENT_WIDTH = 1 << 28;
+    private static final double MAX_SCALE = 400;
+    private static final int ZOOM_STEPS_PER_DOUBLING = 4;
+
+    private static final int TILE_WIDTH = 512;
+    private static final long TILE_CACHE_BYTES = 64L << 20;
+    private static final ExecutorService TILE_RENDERER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gantt-tiles");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Renderer renderer = new Renderer(List.of());
+    private int zoomLevel;
+
+    // Tile cache, used on the EDT only. Tiles of replaced data are told apart by version.
+    private final Map<TileKey, BufferedImage> tiles = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<TileKey> pendingTiles = new HashSet<>();
+    private long tileBytes;
+    private long dataVersion;
+    // Data, zoom and size on show (column 0); read by the tile thread to skip tiles the
+    // user has already zoomed or resized away from
+    private volatile TileKey shownView;
+
+    private Point dragStart;
 
     GanttChartPanel() {
         setPreferredSize(new Dimension(800, 300)); // Default size
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                if (e.isControlDown()) {
+                    zoom(e.getWheelRotation() < 0 ? 1 : -1, e.getX());
+                } else if (getParent() != null) {
+                    // Plain wheel keeps scrolling the enclosing scroll pane
+                    getParent().dispatchEvent(SwingUtilities.convertMouseEvent(GanttChartPanel.this, e, getParent()));
+                }
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                JViewport viewport = viewport();
+                if (viewport == null || dragStart == null) return;
+                Point position = viewport.getViewPosition();
+                position.translate(dragStart.x - e.getX(), dragStart.y - e.getY());
+                scrollTo(viewport, position);
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragStart = null;
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
     }
 
     void setGanttEntries(List<GanttEntry> entries) {
-        this.ganttEntries = entries;
+        setLanes(List.of(entries));
+    }
+
+    // Multi-CPU schedule: draws one row per CPU lane
+    void setCoreLanes(List<? extends List<GanttEntry>> coreLanes) {
+        setLanes(coreLanes);
+    }
+
+    private void setLanes(List<? extends List<GanttEntry>> lanes) {
+        renderer = new Renderer(lanes);
+        zoomLevel = 0;
+        tiles.clear();
+        pendingTiles.clear();
+        tileBytes = 0;
+        dataVersion++;
+        shownView = tileKey(0, getWidth(), 0);
         updatePreferredSize();
         revalidate();
         repaint();
     }
 
     private void updatePreferredSize() {
-        if (ganttEntries.isEmpty()) {
+        if (renderer.entryCount == 0) {
             setPreferredSize(new Dimension(800, 300));
             return;
         }
+        setPreferredSize(new Dimension(renderer.contentWidth(zoomScale(zoomLevel)), renderer.height()));
+    }
+
+    // Pixels per time unit a zoom level asks for; the chart may still stretch to fill a
+    // wider viewport
+    private double zoomScale(int level) {
+        return renderer.scaleFor(800) * Math.pow(2, (double) level / ZOOM_STEPS_PER_DOUBLING);
+    }
+
+    private double scaleAt(int level, int width) {
+        return Math.max(zoomScale(level), renderer.scaleFor(width - 60 - renderer.laneLabelWidth()));
+    }
+
+    // Width the panel gets at a zoom level, as laid out by the viewport
+    private int widthAt(int level) {
+        JViewport viewport = viewport();
+        int extent = viewport != null ? viewport.getExtentSize().width : 0;
+        return Math.max(renderer.contentWidth(zoomScale(level)), extent);
+    }
+
+    // Zooms by steps, keeping the time under mouseX in place
+    private void zoom(int steps, int mouseX) {
+        if (renderer.entryCount == 0) return;
+        int level = zoomLevel + steps;
+        double scale = zoomScale(level);
+        JViewport viewport = viewport();
+        if (steps > 0 && (scale > MAX_SCALE || renderer.contentWidth(scale) > MAX_CONTENT_WIDTH)) return;
+        if (steps < 0 && viewport != null && renderer.contentWidth(scale) < viewport.getExtentSize().width) return;
+
+        int margin = renderer.margin();
+        double time = (mouseX - margin) / scaleAt(zoomLevel, getWidth());
+        int newMouseX = margin + (int) (time * scaleAt(level, widthAt(level)));
+        zoomLevel = level;
+        shownView = tileKey(level, widthAt(level), 0);
+        updatePreferredSize();
+        revalidate();
+        if (viewport != null) {
+            Point position = viewport.getViewPosition();
+            position.x += newMouseX - mouseX;
+            // Runs after the revalidation above has resized the panel
+            SwingUtilities.invokeLater(() -> scrollTo(viewport, position));
+        }
+        repaint();
+    }
 
-        int maxTime = ganttEntries.stream().mapToInt(e -> e.end).max().orElse(1);
-        if (maxTime == 0) maxTime = 1;
+    private JViewport viewport() {
+        return getParent() instanceof JViewport viewport ? viewport : null;
+    }
 
-        // Calculate scale for preferred width
-        int xScale = Math.max(25, 800 / maxTime); // Minimum scale to avoid cramping
-        int preferredWidth = 60 + maxTime * xScale; // Margin + content width
-        setPreferredSize(new Dimension(preferredWidth, 300));
+    private void scrollTo(JViewport viewport, Point position) {
+        Dimension extent = viewport.getExtentSize();
+        position.x = Math.max(0, Math.min(position.x, getWidth() - extent.width));
+        position.y = Math.max(0, Math.min(position.y, getHeight() - extent.height));
+        viewport.setViewPosition(position);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        if (ganttEntries.isEmpty()) {
-            g.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        if (renderer.entryCount == 0) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setFont(EMPTY_FONT);
             g.setColor(Color.GRAY);
             g.drawString("No schedule data available", getWidth() / 2 - 80, getHeight() / 2);
             return;
         }
 
-        int width = getWidth() - 60;
-        int height = getHeight() - 100;
-        int maxTime = ganttEntries.stream().mapToInt(e -> e.end).max().orElse(1);
-        if (maxTime == 0) maxTime = 1;
+        shownView = tileKey(zoomLevel, getWidth(), 0);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        int firstColumn = Math.max(0, clip.x / TILE_WIDTH);
+        int lastColumn = Math.max(firstColumn, (clip.x + clip.width - 1) / TILE_WIDTH);
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            TileKey key = tileKey(zoomLevel, getWidth(), column);
+            BufferedImage tile = tiles.get(key);
+            if (tile != null) {
+                g2d.drawImage(tile, column * TILE_WIDTH, 0, null);
+                continue;
+            }
+            requestTile(key);
+            Rectangle area = new Rectangle(column * TILE_WIDTH, 0, TILE_WIDTH, getHeight()).intersection(clip);
+            if (!drawFromOtherZoom(g2d, area)) {
+                Graphics2D direct = (Graphics2D) g2d.create();
+                direct.clip(area);
+                renderer.paint(direct, area, scaleAt(zoomLevel, getWidth()), getWidth(), getHeight());
+                direct.dispose();
+            }
+        }
+        // Prefetch the neighbours so scrolling rarely waits
+        requestTile(tileKey(zoomLevel, getWidth(), firstColumn - 1));
+        requestTile(tileKey(zoomLevel, getWidth(), lastColumn + 1));
+    }
+
+    private TileKey tileKey(int level, int width, int column) {
+        return new TileKey(dataVersion, level, width, getHeight(), column);
+    }
+
+    // Renders a tile in the background and repaints its area once it is cached
+    private void requestTile(TileKey key) {
+        if (key.column < 0 || (long) key.column * TILE_WIDTH >= key.width) return;
+        if (tiles.containsKey(key) || !pendingTiles.add(key)) return;
+        Renderer tileRenderer = renderer;
+        double scale = scaleAt(key.zoomLevel, key.width);
+        Color background = getBackground();
+        TILE_RENDERER.execute(() -> {
+            if (!key.sameView(shownView)) {
+                // Stale by the time its turn came: free the slot so it can be asked for again
+                SwingUtilities.invokeLater(() -> pendingTiles.remove(key));
+                return;
+            }
+            BufferedImage image = new BufferedImage(TILE_WIDTH, key.height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            g.setColor(background);
+            g.fillRect(0, 0, TILE_WIDTH, key.height);
+            int x = key.column * TILE_WIDTH;
+            g.translate(-x, 0);
+            Rectangle area = new Rectangle(x, 0, TILE_WIDTH, key.height);
+            g.clip(area);
+            tileRenderer.paint(g, area, scale, key.width, key.height);
+            g.dispose();
+            SwingUtilities.invokeLater(() -> tileReady(key, image));
+        });
+    }
+
+    private void tileReady(TileKey key, BufferedImage image) {
+        if (!pendingTiles.remove(key) || key.version != dataVersion) return;
+        tiles.put(key, image);
+        tileBytes += tileBytes(image);
+        Iterator<BufferedImage> eldest = tiles.values().iterator();
+        while (tileBytes > TILE_CACHE_BYTES && eldest.hasNext()) {
+            tileBytes -= tileBytes(eldest.next());
+            eldest.remove();
+        }
+        if (key.equals(tileKey(zoomLevel, getWidth(), key.column))) {
+            repaint(key.column * TILE_WIDTH, 0, TILE_WIDTH, key.height);
+        }
+    }
+
+    private static long tileBytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    // Fills area by stretching cached tiles of the nearest zoom level that covers it all.
+    // Returns false when no level does.
+    private boolean drawFromOtherZoom(Graphics2D g2d, Rectangle area) {
+        int margin = renderer.margin();
+        double scale = scaleAt(zoomLevel, getWidth());
+        for (int distance = 1; distance <= 2 * ZOOM_STEPS_PER_DOUBLING; distance++) {
+            for (int level : new int[]{zoomLevel - distance, zoomLevel + distance}) {
+                int width = widthAt(level);
+                // x here shows the same time as margin + (x - margin) * ratio there
+                double ratio = scaleAt(level, width) / scale;
+                int sourceFrom = (int) Math.floor(margin + (area.x - margin) * ratio);
+                int sourceTo = (int) Math.ceil(margin + (area.x + area.width - margin) * ratio);
+                int firstTile = Math.max(0, sourceFrom / TILE_WIDTH);
+                int lastTile = Math.max(firstTile, (sourceTo - 1) / TILE_WIDTH);
+                BufferedImage[] sources = new BufferedImage[lastTile - firstTile + 1];
+                boolean covered = true;
+                for (int t = firstTile; t <= lastTile && covered; t++) {
+                    sources[t - firstTile] = tiles.get(tileKey(level, width, t));
+                    covered = sources[t - firstTile] != null;
+                }
+                if (!covered) continue;
+
+                for (int t = firstTile; t <= lastTile; t++) {
+                    int tileX = t * TILE_WIDTH;
+                    int sx0 = Math.max(sourceFrom, tileX);
+                    int sx1 = Math.min(sourceTo, tileX + TILE_WIDTH);
+                    int dx0 = (int) Math.round(margin + (sx0 - margin) / ratio);
+                    int dx1 = (int) Math.round(margin + (sx1 - margin) / ratio);
+                    g2d.drawImage(sources[t - firstTile], dx0, area.y, dx1, area.y + area.height,
+                            sx0 - tileX, area.y, sx1 - tileX, area.y + area.height, null);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class TileKey {
+        final long version;
+        final int zoomLevel, width, height, column;
+
+        TileKey(long version, int zoomLevel, int width, int height, int column) {
+            this.version = version;
+            this.zoomLevel = zoomLevel;
+            this.width = width;
+            this.height = height;
+            this.column = column;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TileKey k && sameView(k) && k.column == column;
+        }
 
-        // Calculate scale based on maximum time
-        int xScale = Math.max(25, width / maxTime);
+        // Same data, zoom level and size, whatever the column
+        boolean sameView(TileKey other) {
+            return other != null && other.version == version && other.zoomLevel == zoomLevel
+                    && other.width == width && other.height == height;
+        }
 
-        int y = 50;
-        int barHeight = Math.min(30, height / 3);
-        int margin = 20;
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, zoomLevel, width, height, column);
+        }
+    }
+
+    // Draws any region of a chart from data derived once per set of lanes. It keeps no
+    // Swing state, so tiles can be drawn off the EDT.
+    static final class Renderer {
+        // One row per CPU; a single-CPU schedule has one lane
+        final List<? extends List<GanttEntry>> lanes;
+        final int entryCount;
+        final int maxTime;
+        private final int[][] laneMaxEnd;   // per lane: max end over entries [0, i]
+        private final int[] legendIds;      // distinct process ids, ascending
+        // Bar font and metrics for the last bar height painted, shared by all tiles
+        private volatile BarFont barFont;
+
+        Renderer(List<? extends List<GanttEntry>> lanes) {
+            List<List<GanttEntry>> sorted = new ArrayList<>(lanes.size());
+            // Partial schedules keep growing; everything here covers the first sizes[l] entries
+            int[] sizes = new int[lanes.size()];
+            int count = 0;
+            for (List<GanttEntry> lane : lanes) {
+                sizes[sorted.size()] = lane.size();
+                count += lane.size();
+                sorted.add(sortedByStart(lane));
+            }
+            this.lanes = sorted;
+            entryCount = count;
 
-        g2d.setFont(new Font("Segoe UI", Font.PLAIN, 10));
-        g2d.setColor(Color.BLACK);
+            laneMaxEnd = new int[sorted.size()][];
+            int[] ids = new int[count];
+            int idCount = 0;
+            int latest = 0;
+            for (int l = 0; l < sorted.size(); l++) {
+                List<GanttEntry> lane = sorted.get(l);
+                int[] maxEnd = new int[sizes[l]];
+                int runningMax = Integer.MIN_VALUE;
+                for (int i = 0; i < maxEnd.length; i++) {
+                    runningMax = Math.max(runningMax, endOf(lane, i));
+                    maxEnd[i] = runningMax;
+                    ids[idCount++] = processIdOf(lane, i);
+                }
+                laneMaxEnd[l] = maxEnd;
+                if (maxEnd.length > 0) latest = Math.max(latest, runningMax);
+            }
+            maxTime = latest == 0 ? 1 : latest;
 
-        // Draw all time markers from 0 to maxTime
-        for (int t = 0; t <= maxTime; t++) {
-            int x = margin + t * xScale;
+            ids = IndexSort.sort(ids, id -> id);
+            int distinct = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (i == 0 || ids[i] != ids[i - 1]) ids[distinct++] = ids[i];
+            }
+            legendIds = Arrays.copyOf(ids, distinct);
+        }
 
-            // Draw vertical grid lines
-            g2d.setColor(new Color(200, 200, 200));
-            g2d.drawLine(x, y - 10, x, y + barHeight + 10);
+        private static final class BarFont {
+            final int barHeight;
+            final Font font;
+            final FontMetrics metrics;
 
-            // Draw time labels
-            g2d.setColor(Color.BLACK);
-            String timeLabel = String.valueOf(t);
-            int labelWidth = g2d.getFontMetrics().stringWidth(timeLabel);
+            BarFont(int barHeight, Font font, FontMetrics metrics) {
+                this.barHeight = barHeight;
+                this.font = font;
+                this.metrics = metrics;
+            }
+        }
 
-            // Center the label under the grid line
-            g2d.drawString(timeLabel, x - labelWidth / 2, y + barHeight + 25);
+        private static List<GanttEntry> sortedByStart(List<GanttEntry> entries) {
+            for (int i = 1; i < entries.size(); i++) {
+                if (startOf(entries, i) < startOf(entries, i - 1)) {
+                    List<GanttEntry> sorted = new ArrayList<>(entries);
+                    sorted.sort((a, b) -> Integer.compare(a.start, b.start));
+                    return sorted;
+                }
+            }
+            return entries;
         }
 
-        // Draw horizontal baseline
-        g2d.drawLine(margin, y + barHeight + 10, margin + maxTime * xScale, y + barHeight + 10);
+        // Room on the left for "CPU n" row labels when there is more than one lane
+        int laneLabelWidth() {
+            return lanes.size() > 1 ? 50 : 0;
+        }
 
-        // Draw Gantt bars
-        for (GanttEntry entry : ganttEntries) {
-            int xStart = margin + entry.start * xScale;
-            int xEnd = margin + entry.end * xScale;
-            int barWidth = Math.max(10, xEnd - xStart);
+        int margin() {
+            return 20 + laneLabelWidth();
+        }
+
+        // Pixels per time unit to fill width: at least 25 so short schedules are not
+        // cramped, unless that would make the chart wider than FIT_CONTENT_WIDTH
+        double scaleFor(int width) {
+            double scale = Math.max(25, width / maxTime);
+            if (maxTime * scale > FIT_CONTENT_WIDTH) scale = (double) FIT_CONTENT_WIDTH / maxTime;
+            return scale;
+        }
+
+        int contentWidth(double scale) {
+            return 60 + laneLabelWidth() + (int) Math.ceil(maxTime * scale); // Margin + content width
+        }
+
+        int height() {
+            return 300 + (lanes.size() - 1) * LANE_HEIGHT;
+        }
+
+        // Paints the part of a width x height chart inside clip
+        void paint(Graphics2D g2d, Rectangle clip, double scale, int width, int height) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            paint(new GraphicsCanvas(g2d), clip, scale, width, height);
+        }
+
+        void paint(Canvas canvas, Rectangle clip, double scale, int width, int height) {
+            int y = 50;
+            int barHeight = lanes.size() > 1 ? 30 : Math.min(30, (height - 100) / 3);
+            int margin = margin();
+            int chartBottom = y + (lanes.size() - 1) * LANE_HEIGHT + barHeight;
+
+            drawTimeMarkers(canvas, clip, margin, scale, y, chartBottom);
+
+            // Draw horizontal baseline
+            canvas.setColor(Color.BLACK);
+            canvas.drawLine(margin, chartBottom + 10, margin + toX(maxTime, scale), chartBottom + 10);
+
+            BarFont bar = barFont;
+            if (bar == null || bar.barHeight != barHeight) {
+                Font font = new Font("Segoe UI", Font.BOLD, Math.min(12, barHeight - 6));
+                bar = new BarFont(barHeight, font, canvas.getFontMetrics(font));
+                barFont = bar;
+            }
+
+            // Draw Gantt bars, one row per lane
+            for (int lane = 0; lane < lanes.size(); lane++) {
+                int laneY = y + lane * LANE_HEIGHT;
+                if (laneY > clip.y + clip.height || laneY + barHeight < clip.y) continue;
+                if (lanes.size() > 1) {
+                    canvas.setFont(LANE_FONT);
+                    canvas.setColor(Color.BLACK);
+                    canvas.drawString("CPU " + lane, 10, laneY + barHeight / 2 + 5);
+                }
+                canvas.setFont(bar.font);
+                drawLane(canvas, bar.metrics, lane, clip, margin, laneY, scale, barHeight);
+            }
+
+            drawLegend(canvas, clip, margin, chartBottom + 50, width);
+        }
+
+        // Grid lines and labels for the visible part of the time axis, thinned out so that
+        // labels never overlap at the current scale
+        private void drawTimeMarkers(Canvas canvas, Rectangle clip, int margin, double scale, int y,
+                                     int chartBottom) {
+            canvas.setFont(TICK_FONT);
+            FontMetrics fm = canvas.getFontMetrics();
+            int widestLabel = fm.stringWidth(String.valueOf(maxTime)) + 4;
+            int step = 1;
+            while (step * scale < widestLabel) {
+                step = nextTickStep(step);
+            }
+
+            // Skip whichever of the grid lines and labels lie outside the clip vertically
+            int labelY = chartBottom + 25;
+            boolean lines = clip.y <= chartBottom + 10 && clip.y + clip.height >= y - 10;
+            boolean labels = clip.y <= labelY + fm.getDescent() && clip.y + clip.height >= labelY - fm.getAscent();
+            if (!lines && !labels) return;
+
+            long first = Math.max(0, (long) ((clip.x - margin - widestLabel) / scale));
+            first -= first % step;
+            long last = Math.min(maxTime, (long) Math.ceil((clip.x + clip.width - margin + widestLabel) / scale));
+            for (long t = first; t <= last; t += step) {
+                int x = margin + toX(t, scale);
+
+                // Draw vertical grid lines
+                if (lines) {
+                    canvas.setColor(GRID_COLOR);
+                    canvas.drawLine(x, y - 10, x, chartBottom + 10);
+                }
+
+                // Draw time labels, centered under the grid line
+                if (labels) {
+                    canvas.setColor(Color.BLACK);
+                    String timeLabel = String.valueOf(t);
+                    canvas.drawString(timeLabel, x - fm.stringWidth(timeLabel) / 2, labelY);
+                }
+            }
+        }
+
+        // 1, 2, 5, 10, 20, 50, ...
+        private static int nextTickStep(int step) {
+            int magnitude = 1;
+            while (magnitude * 10 <= step) magnitude *= 10;
+            int leading = step / magnitude;
+            return (leading == 1 ? 2 : leading == 2 ? 5 : 10) * magnitude;
+        }
+
+        // Draws the entries of one lane that intersect the clip. Entries only a few pixels
+        // wide are merged into strips, and runs of entries inside one pixel column are
+        // skipped by binary search, so the work depends on the visible pixels rather than
+        // on the number of entries.
+        private void drawLane(Canvas canvas, FontMetrics barMetrics, int lane, Rectangle clip, int margin,
+                              int laneY, double scale, int barHeight) {
+            List<GanttEntry> entries = lanes.get(lane);
+            int[] maxEnd = laneMaxEnd[lane];
+            int size = maxEnd.length;
+            long visibleFrom = (long) Math.floor((clip.x - margin - MIN_BAR_WIDTH) / scale);
+            long visibleTo = (long) Math.ceil((clip.x + clip.width - margin) / scale);
+
+            int stripStart = -1, stripEnd = -1, stripId = 0;
+            boolean stripMixed = false;
+            for (int i = firstEndingAfter(maxEnd, visibleFrom); i < size; ) {
+                int start = startOf(entries, i);
+                if (start > visibleTo) break;
+                int end = endOf(entries, i);
+                if (scale >= 1 || (end - start) * scale >= MIN_DETAIL_WIDTH) {
+                    if (stripStart != -1) fillStrip(canvas, stripStart, stripEnd, stripId, stripMixed, laneY, barHeight);
+                    stripStart = -1;
+                    drawBar(canvas, barMetrics, processIdOf(entries, i), start, end, margin, laneY, scale, barHeight);
+                    i++;
+                    continue;
+                }
+
+                int id = processIdOf(entries, i);
+                int x0 = margin + toX(start, scale);
+                int x1 = Math.max(x0 + 1, margin + toX(end, scale));
+                if (stripStart != -1 && x0 <= stripEnd) {
+                    stripEnd = Math.max(stripEnd, x1);
+                    stripMixed |= id != stripId;
+                } else {
+                    if (stripStart != -1) fillStrip(canvas, stripStart, stripEnd, stripId, stripMixed, laneY, barHeight);
+                    stripStart = x0;
+                    stripEnd = x1;
+                    stripId = id;
+                    stripMixed = false;
+                }
+
+                // Jump to the last entry starting inside the strip's pixels, provided nothing
+                // skipped reaches past them
+                long stripEndTime = (long) Math.ceil((stripEnd - margin) / scale);
+                int next = firstStartingAtOrAfter(entries, stripEndTime, i + 1, size) - 1;
+                if (next > i + 1 && maxEnd[next - 1] <= stripEndTime) {
+                    stripMixed = true;
+                    i = next;
+                } else {
+                    i++;
+                }
+            }
+            if (stripStart != -1) fillStrip(canvas, stripStart, stripEnd, stripId, stripMixed, laneY, barHeight);
+        }
+
+        private static void fillStrip(Canvas canvas, int x0, int x1, int id, boolean mixed, int y, int barHeight) {
+            canvas.setColor(mixed ? MIXED_COLOR : COLORS[id % COLORS.length]);
+            canvas.fillRect(x0, y, x1 - x0, barHeight);
+        }
+
+        private static void drawBar(Canvas canvas, FontMetrics barMetrics, int processId, int start, int end,
+                                    int margin, int y, double scale, int barHeight) {
+            int xStart = margin + toX(start, scale);
+            int xEnd = margin + toX(end, scale);
+            int barWidth = scale >= 1 ? Math.max(MIN_BAR_WIDTH, xEnd - xStart) : xEnd - xStart;
 
             // Fill the bar with process color
-            g2d.setColor(COLORS[entry.processId % COLORS.length]);
-            g2d.fillRect(xStart, y, barWidth, barHeight);
+            canvas.setColor(COLORS[processId % COLORS.length]);
+            canvas.fillRect(xStart, y, barWidth, barHeight);
 
             // Draw border
-            g2d.setColor(Color.BLACK);
-            g2d.drawRect(xStart, y, barWidth, barHeight);
-
-            // Draw process label inside the bar
-            String label = "P" + entry.processId;
-            int fontSize = Math.min(12, barHeight - 6);
-            g2d.setFont(new Font("Segoe UI", Font.BOLD, fontSize));
-            FontMetrics fm = g2d.getFontMetrics();
-            int labelWidth = fm.stringWidth(label);
-            int labelHeight = fm.getAscent();
-
-            // Only draw label if there's enough space
+            canvas.setColor(Color.BLACK);
+            canvas.drawRect(xStart, y, barWidth, barHeight);
+
+            // Draw process label inside the bar, only if there's enough space
+            if (barWidth <= barMetrics.charWidth('P') + 4) return;
+            String label = "P" + processId;
+            int labelWidth = barMetrics.stringWidth(label);
+            int labelHeight = barMetrics.getAscent();
             if (barWidth > labelWidth + 4) {
                 int labelX = xStart + (barWidth - labelWidth) / 2;
                 int labelY = y + (barHeight - labelHeight) / 2 + labelHeight;
-                g2d.drawString(label, labelX, labelY);
+                canvas.drawString(label, labelX, labelY);
             }
         }
 
-        drawLegend(g2d, margin, y + barHeight + 50, COLORS);
-    }
+        private void drawLegend(Canvas canvas, Rectangle clip, int x, int y, int width) {
+            canvas.setFont(LEGEND_FONT);
+            int boxSize = 15;
+            int columnWidth = 60;
+            int rowHeight = 20;
+            // Rows wrap once the offset passes width - 100
+            int perRow = width - 100 < 0 ? 1 : (width - 100) / columnWidth + 1;
 
-    private void drawLegend(Graphics2D g2d, int x, int y, Color[] colors) {
-        g2d.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        int legendY = y;
-        Set<Integer> processIds = new HashSet<>();
-        for (GanttEntry entry : ganttEntries) {
-            processIds.add(entry.processId);
+            int firstRow = Math.max(0, (clip.y - y - rowHeight) / rowHeight);
+            int lastRow = (clip.y + clip.height - y) / rowHeight + 1;
+            int firstColumn = Math.max(0, (clip.x - x) / columnWidth - 1);
+            int lastColumn = Math.min(perRow - 1, (clip.x + clip.width - x) / columnWidth + 1);
+            for (int row = firstRow; row <= lastRow; row++) {
+                int legendY = y + row * rowHeight;
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    long index = (long) row * perRow + column;
+                    if (index >= legendIds.length) return;
+                    int id = legendIds[(int) index];
+                    int boxX = x + column * columnWidth;
+                    canvas.setColor(COLORS[id % COLORS.length]);
+                    canvas.fillRect(boxX, legendY, boxSize, boxSize);
+                    canvas.setColor(Color.BLACK);
+                    canvas.drawRect(boxX, legendY, boxSize, boxSize);
+                    canvas.drawString("P" + id, boxX + boxSize + 5, legendY + boxSize - 2);
+                }
+            }
         }
 
-        int xOffset = 0;
-        int boxSize = 15;
-        for (Integer id : processIds) {
-            g2d.setColor(colors[id % colors.length]);
-            g2d.fillRect(x + xOffset, legendY, boxSize, boxSize);
-            g2d.setColor(Color.BLACK);
-            g2d.drawRect(x + xOffset, legendY, boxSize, boxSize);
-            g2d.drawString("P" + id, x + xOffset + boxSize + 5, legendY + boxSize - 2);
-            xOffset += 60;
-            if (xOffset > getWidth() - 100) {
-                xOffset = 0;
-                legendY += 20;
+        private static int toX(long time, double scale) {
+            return (int) (time * scale);
+        }
+
+        // First index whose running max end is after time (maxEnd is non-decreasing)
+        private static int firstEndingAfter(int[] maxEnd, long time) {
+            int low = 0, high = maxEnd.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxEnd[mid] > time) high = mid;
+                else low = mid + 1;
             }
+            return low;
+        }
+
+        // First index in [from, to) whose start is at or after time (entries sorted by start)
+        private static int firstStartingAtOrAfter(List<GanttEntry> entries, long time, int from, int to) {
+            int low = from, high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (startOf(entries, mid) >= time) high = mid;
+                else low = mid + 1;
+            }
+            return low;
+        }
+
+        // Column reads that avoid creating GanttEntry objects for GanttEntryList lanes
+        private static int startOf(List<GanttEntry> entries, int i) {
+            return entries instanceof GanttEntryList list ? list.start(i) : entries.get(i).start;
+        }
+
+        private static int endOf(List<GanttEntry> entries, int i) {
+            return entries instanceof GanttEntryList list ? list.end(i) : entries.get(i).end;
+        }
+
+        private static int processIdOf(List<GanttEntry> entries, int i) {
+            return entries instanceof GanttEntryList list ? list.processId(i) : entries.get(i).processId;
+        }
+    }
+
+    // The drawing calls Renderer makes, so a chart can be painted on screen or written
+    // out as vector graphics (see GanttExporter). Signatures match Graphics.
+    interface Canvas {
+        void setColor(Color color);
+        void setFont(Font font);
+        FontMetrics getFontMetrics();
+        FontMetrics getFontMetrics(Font font);
+        void fillRect(int x, int y, int width, int height);
+        void drawRect(int x, int y, int width, int height);
+        void drawLine(int x1, int y1, int x2, int y2);
+        void drawString(String text, int x, int y);
+    }
+
+    private static final class GraphicsCanvas implements Canvas {
+        private final Graphics2D g;
+
+        GraphicsCanvas(Graphics2D g) {
+            this.g = g;
+        }
+
+        @Override
+        public void setColor(Color color) {
+            g.setColor(color);
+        }
+
+        @Override
+        public void setFont(Font font) {
+            g.setFont(font);
+        }
+
+        @Override
+        public FontMetrics getFontMetrics() {
+            return g.getFontMetrics();
+        }
+
+        @Override
+        public FontMetrics getFontMetrics(Font font) {
+            return g.getFontMetrics(font);
+        }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height) {
+            g.fillRect(x, y, width, height);
+        }
+
+        @Override
+        public void drawRect(int x, int y, int width, int height) {
+            g.drawRect(x, y, width, height);
+        }
+
+        @Override
+        public void drawLine(int x1, int y1, int x2, int y2) {
+            g.drawLine(x1, y1, x2, y2);
+        }
+
+        @Override
+        public void drawString(String text, int x, int y) {
+            g.drawString(text, x, y);
         }
     }
 
@@ -177,4 +777,4 @@ class GanttChartPanel extends JPanel {
             frame.setVisible(true);
         });
     }
-}
\ No newline at end of file
+}
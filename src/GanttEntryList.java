@@ -0,0 +1,85 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+// Gantt entries kept in primitive columns; GanttEntry objects are only created
+// when an entry is read.
+class GanttEntryList extends AbstractList<GanttChartPanel.GanttEntry> implements RandomAccess {
+    private int[] processIds;
+    private int[] starts;
+    private int[] ends;
+    private int size;
+    // The columns belong to the list this one is a snapshot of
+    private boolean shared;
+
+    GanttEntryList() {
+        this(new int[16], new int[16], new int[16], 0);
+    }
+
+    private GanttEntryList(int[] processIds, int[] starts, int[] ends, int size) {
+        this.processIds = processIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.size = size;
+    }
+
+    void add(int processId, int start, int end) {
+        if (size == processIds.length || shared) {
+            int capacity = Math.max(16, size * 2);
+            processIds = Arrays.copyOf(processIds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        shared = false;
+        processIds[size] = processId;
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    // Copy of the first size entries
+    GanttEntryList prefix(int size) {
+        GanttEntryList copy = new GanttEntryList();
+        int capacity = Math.max(16, size);
+        copy.processIds = Arrays.copyOf(processIds, capacity);
+        copy.starts = Arrays.copyOf(starts, capacity);
+        copy.ends = Arrays.copyOf(ends, capacity);
+        copy.size = size;
+        return copy;
+    }
+
+    // The entries added so far, without copying: entries are never rewritten and growing
+    // moves to new arrays, so the snapshot's columns stay as they are however much this
+    // list grows. Adding to the snapshot copies them first. Costs O(1), so a partial
+    // schedule can be republished as often as needed.
+    GanttEntryList snapshot() {
+        GanttEntryList view = new GanttEntryList(processIds, starts, ends, size);
+        view.shared = true;
+        return view;
+    }
+
+    int processId(int index) {
+        return processIds[index];
+    }
+
+    int start(int index) {
+        return starts[index];
+    }
+
+    int end(int index) {
+        return ends[index];
+    }
+
+    @Override
+    public GanttChartPanel.GanttEntry get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new GanttChartPanel.GanttEntry(processIds[index], starts[index], ends[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
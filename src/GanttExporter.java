@@ -0,0 +1,301 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Writes a schedule's Gantt chart to SVG or PNG without a display (java.awt.headless=true
+// is enough). The chart is laid out and drawn by GanttChartPanel.Renderer, so files look
+// like the panel at its initial zoom, with the same colours and legend.
+//
+// SVG is written element by element as the renderer draws. PNG is rendered in bands of
+// rows of at most STRIP_PIXELS and encoded as each band is finished, so memory stays
+// bounded however wide the chart is.
+class GanttExporter {
+    private static final int STRIP_PIXELS = 4 << 20;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    // Picks the format from the file extension (.svg or .png)
+    static void write(Scheduler.SchedulingResult result, Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".svg")) {
+            writeSvg(result, file);
+        } else if (name.endsWith(".png")) {
+            writePng(result, file);
+        } else {
+            throw new IllegalArgumentException("Unknown chart format: " + file.getFileName());
+        }
+    }
+
+    static void writeSvg(Scheduler.SchedulingResult result, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeSvg(lanesOf(result), out);
+        }
+    }
+
+    static void writePng(Scheduler.SchedulingResult result, Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            writePng(lanesOf(result), out);
+        }
+    }
+
+    private static List<GanttEntryList> lanesOf(Scheduler.SchedulingResult result) {
+        return result.coreLanes != null ? List.of(result.coreLanes) : List.of(result.ganttEntries);
+    }
+
+    static void writeSvg(List<? extends List<GanttChartPanel.GanttEntry>> lanes, Writer out) throws IOException {
+        GanttChartPanel.Renderer renderer = new GanttChartPanel.Renderer(lanes);
+        double scale = renderer.scaleFor(800);
+        int width = renderer.contentWidth(scale);
+        int height = renderer.height();
+
+        ReportWriter numbers = new ReportWriter(out);
+        out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"");
+        numbers.appendInt(width);
+        out.append("\" height=\"");
+        numbers.appendInt(height);
+        out.append("\" shape-rendering=\"crispEdges\">\n");
+        out.append("<rect width=\"100%\" height=\"100%\" fill=\"#ffffff\"/>\n");
+        try {
+            renderer.paint(new SvgCanvas(out, numbers), new Rectangle(0, 0, width, height), scale, width, height);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.append("</svg>\n");
+    }
+
+    static void writePng(List<? extends List<GanttChartPanel.GanttEntry>> lanes, OutputStream out)
+            throws IOException {
+        GanttChartPanel.Renderer renderer = new GanttChartPanel.Renderer(lanes);
+        double scale = renderer.scaleFor(800);
+        int width = renderer.contentWidth(scale);
+        int height = renderer.height();
+        int stripHeight = Math.max(1, Math.min(height, STRIP_PIXELS / width));
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(PNG_SIGNATURE);
+        DataOutputStream header = new DataOutputStream(new PngChunkStream(data, "IHDR"));
+        header.writeInt(width);
+        header.writeInt(height);
+        header.write(new byte[]{8, 2, 0, 0, 0}); // 8-bit RGB, deflate, no interlace
+        header.close();
+
+        // Compression dominates the export time of wide charts; the fastest level costs
+        // about twice the file size
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (OutputStream idat = new DeflaterOutputStream(new PngChunkStream(data, "IDAT"), deflater, 1 << 16)) {
+            BufferedImage strip = new BufferedImage(width, stripHeight, BufferedImage.TYPE_INT_RGB);
+            int[] pixels = ((DataBufferInt) strip.getRaster().getDataBuffer()).getData();
+            byte[] row = new byte[1 + 3 * width];
+            byte[] previous = new byte[row.length];
+            for (int top = 0; top < height; top += stripHeight) {
+                int rows = Math.min(stripHeight, height - top);
+                Graphics2D g = strip.createGraphics();
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, stripHeight);
+                g.translate(0, -top);
+                Rectangle clip = new Rectangle(0, top, width, rows);
+                g.clip(clip);
+                renderer.paint(g, clip, scale, width, height);
+                g.dispose();
+
+                for (int y = 0; y < rows; y++) {
+                    // "Up" filter: bars repeat row after row, so most filtered bytes are zero
+                    row[0] = 2;
+                    for (int x = 0, i = y * width, b = 1; x < width; x++, i++, b += 3) {
+                        int rgb = pixels[i];
+                        row[b] = (byte) ((rgb >> 16) - previous[b]);
+                        row[b + 1] = (byte) ((rgb >> 8) - previous[b + 1]);
+                        row[b + 2] = (byte) (rgb - previous[b + 2]);
+                        previous[b] = (byte) (rgb >> 16);
+                        previous[b + 1] = (byte) (rgb >> 8);
+                        previous[b + 2] = (byte) rgb;
+                    }
+                    idat.write(row);
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        new PngChunkStream(data, "IEND").close();
+        data.flush();
+    }
+
+    // Buffers one PNG chunk's data and writes it with length and CRC, splitting long
+    // streams into several chunks of the same type
+    private static final class PngChunkStream extends OutputStream {
+        private static final int MAX_CHUNK = 1 << 16;
+        private final DataOutputStream out;
+        private final byte[] type;
+        private final byte[] buffer = new byte[MAX_CHUNK];
+        private final CRC32 crc = new CRC32();
+        private int length;
+        private boolean written;
+
+        PngChunkStream(DataOutputStream out, String type) {
+            this.out = out;
+            this.type = type.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (length == MAX_CHUNK) flushChunk();
+            buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int count) throws IOException {
+            while (count > 0) {
+                if (length == MAX_CHUNK) flushChunk();
+                int n = Math.min(count, MAX_CHUNK - length);
+                System.arraycopy(bytes, offset, buffer, length, n);
+                length += n;
+                offset += n;
+                count -= n;
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            out.writeInt(length);
+            out.write(type);
+            out.write(buffer, 0, length);
+            crc.reset();
+            crc.update(type);
+            crc.update(buffer, 0, length);
+            out.writeInt((int) crc.getValue());
+            length = 0;
+            written = true;
+        }
+
+        // Leaves the underlying stream open for the next chunk
+        @Override
+        public void close() throws IOException {
+            if (length > 0 || !written) flushChunk();
+        }
+    }
+
+    // Turns the renderer's drawing calls into SVG elements. Metrics come from an
+    // offscreen image, which needs no display.
+    private static final class SvgCanvas implements GanttChartPanel.Canvas {
+        private static final Graphics2D METRICS = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+        private final Writer out;
+        private final ReportWriter numbers;
+        private final char[] hex = new char[7];
+        private String fill = "#000000";
+        private Font font = METRICS.getFont();
+
+        SvgCanvas(Writer out, ReportWriter numbers) {
+            this.out = out;
+            this.numbers = numbers;
+        }
+
+        @Override
+        public void setColor(Color color) {
+            String digits = "0123456789abcdef";
+            int rgb = color.getRGB();
+            hex[0] = '#';
+            for (int i = 0; i < 6; i++) {
+                hex[1 + i] = digits.charAt((rgb >> (20 - 4 * i)) & 0xF);
+            }
+            fill = new String(hex);
+        }
+
+        @Override
+        public void setFont(Font font) {
+            this.font = font;
+        }
+
+        @Override
+        public FontMetrics getFontMetrics() {
+            return METRICS.getFontMetrics(font);
+        }
+
+        @Override
+        public FontMetrics getFontMetrics(Font font) {
+            return METRICS.getFontMetrics(font);
+        }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height) {
+            if (width <= 0 || height <= 0) return;
+            try {
+                out.append("<rect x=\"");
+                numbers.appendInt(x);
+                out.append("\" y=\"");
+                numbers.appendInt(y);
+                out.append("\" width=\"");
+                numbers.appendInt(width);
+                out.append("\" height=\"");
+                numbers.appendInt(height);
+                out.append("\" fill=\"").append(fill).append("\"/>\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Graphics.drawRect outlines the pixels from x to x + width inclusive; a 1-unit
+        // stroke centred half a unit in covers the same pixels
+        @Override
+        public void drawRect(int x, int y, int width, int height) {
+            try {
+                out.append("<rect x=\"");
+                numbers.appendInt(x);
+                out.append(".5\" y=\"");
+                numbers.appendInt(y);
+                out.append(".5\" width=\"");
+                numbers.appendInt(width);
+                out.append("\" height=\"");
+                numbers.appendInt(height);
+                out.append("\" fill=\"none\" stroke=\"").append(fill).append("\"/>\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void drawLine(int x1, int y1, int x2, int y2) {
+            try {
+                out.append("<line x1=\"");
+                numbers.appendInt(x1);
+                out.append(".5\" y1=\"");
+                numbers.appendInt(y1);
+                out.append(".5\" x2=\"");
+                numbers.appendInt(x2);
+                out.append(".5\" y2=\"");
+                numbers.appendInt(y2);
+                out.append(".5\" stroke=\"").append(fill).append("\"/>\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Labels are P<id> and numbers, so nothing needs XML escaping
+        @Override
+        public void drawString(String text, int x, int y) {
+            try {
+                out.append("<text x=\"");
+                numbers.appendInt(x);
+                out.append("\" y=\"");
+                numbers.appendInt(y);
+                out.append("\" font-family=\"").append(font.getName()).append(", sans-serif\" font-size=\"");
+                numbers.appendInt(font.getSize());
+                if (font.isBold()) out.append("\" font-weight=\"bold");
+                out.append("\" fill=\"").append(fill).append("\">").append(text).append("</text>\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
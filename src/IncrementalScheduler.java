@@ -0,0 +1,149 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Single-CPU priority schedule that keeps checkpoints of its state while it runs, so
+// that after one process is edited only the schedule from the last checkpoint before
+// the edit is simulated again. Gantt entries, timeline runs and finish times up to the
+// checkpoint are kept. The scheduling itself is Scheduler.runPreemptive /
+// runNonPreemptive, which take the checkpoints and resume from them.
+//
+// A process cannot influence the schedule before the earlier of its old and new arrival
+// times: it is not queued, and no run has been cut short at its arrival yet. Every
+// checkpoint strictly before that time is therefore valid for the edited workload too,
+// and is kept for later edits. Processes queued at such a checkpoint all arrived earlier
+// than the edited one, so their arrival ranks are also the same in both workloads.
+class IncrementalScheduler {
+    private final boolean preemptive;
+    private final Scheduler.Aging aging;
+    private final Workload workload;
+    private final int[] byArrival;
+    // Non-preemptive runs only: process indices in completion order
+    private final int[] completed;
+    private final List<Scheduler.Checkpoint> checkpoints;
+    private final Scheduler.SchedulingResult result;
+
+    // aging and monitor may be null
+    static IncrementalScheduler runPreemptive(Workload workload, Scheduler.Aging aging,
+                                              Scheduler.RunMonitor monitor) {
+        return start(true, workload, aging, monitor);
+    }
+
+    static IncrementalScheduler runNonPreemptive(Workload workload, Scheduler.Aging aging,
+                                                 Scheduler.RunMonitor monitor) {
+        return start(false, workload, aging, monitor);
+    }
+
+    private static IncrementalScheduler start(boolean preemptive, Workload workload, Scheduler.Aging aging,
+                                              Scheduler.RunMonitor monitor) {
+        int n = workload.size();
+        List<Scheduler.Checkpoint> checkpoints = new ArrayList<>();
+        checkpoints.add(Scheduler.Checkpoint.START);
+        return new IncrementalScheduler(preemptive, aging, workload, workload.byArrival(), null,
+                Scheduler.Checkpoint.START, checkpoints, new int[n], preemptive ? null : new int[n],
+                new GanttEntryList(), new ExecutionTimeline(preemptive ? "executing" : "completing"), "", monitor);
+    }
+
+    Scheduler.SchedulingResult result() {
+        return result;
+    }
+
+    // Schedule of the workload with row index changed to the given arrival, burst and
+    // priority. This schedule is left as it is. monitor may be null.
+    IncrementalScheduler edit(int index, int arrival, int burst, int priority, Scheduler.RunMonitor monitor) {
+        if (index < 0 || index >= workload.size()) throw new IllegalArgumentException("No process at row " + index);
+        if (arrival < 0) throw new IllegalArgumentException("Arrival time cannot be negative");
+        if (burst <= 0) throw new IllegalArgumentException("Burst time must be greater than 0");
+
+        ProcessTable edited = ProcessTable.copyOf(workload);
+        edited.set(index, arrival, burst, priority);
+
+        // The checkpoint at time 0, before anything has run, is valid for any edit
+        int affectedFrom = Math.min(workload.arrival(index), arrival);
+        int c = checkpoints.size() - 1;
+        while (c > 0 && checkpoints.get(c).time >= affectedFrom) c--;
+        Scheduler.Checkpoint from = checkpoints.get(c);
+
+        return new IncrementalScheduler(preemptive, aging, edited, moveRank(edited, index, from.arrived),
+                preemptive ? result.byId : null, from, new ArrayList<>(checkpoints.subList(0, c + 1)),
+                result.finish.clone(), completed == null ? null : completed.clone(),
+                result.ganttEntries.prefix(from.ganttSize),
+                result.executionSteps.prefix(from.timelineRuns, from.timelineLastEnd),
+                from.firstProcessFound ? result.firstProcessInfo : "", monitor);
+    }
+
+    // The row after changes in arrival, burst or priority only, or -1 unless there is
+    // exactly one such row and the workloads otherwise match
+    static int editedRow(Workload before, Workload after) {
+        if (before.size() != after.size()) return -1;
+        int edited = -1;
+        for (int i = 0; i < before.size(); i++) {
+            if (before.id(i) != after.id(i) || before.affinity(i) != after.affinity(i)) return -1;
+            if (before.arrival(i) != after.arrival(i) || before.burst(i) != after.burst(i)
+                    || before.priority(i) != after.priority(i)) {
+                if (edited >= 0) return -1;
+                edited = i;
+            }
+        }
+        return edited;
+    }
+
+    // Schedule of after, which differs from this schedule's workload in at most one row
+    // (see editedRow); null if it differs in more
+    IncrementalScheduler update(Workload after, Scheduler.RunMonitor monitor) {
+        int row = editedRow(workload, after);
+        if (row < 0) return null;
+        return edit(row, after.arrival(row), after.burst(row), after.priority(row), monitor);
+    }
+
+    // byArrival with index moved to its place for its new arrival time. It was not among
+    // the first arrived ranks before the edit and is not after it, so those stay put.
+    private int[] moveRank(Workload edited, int index, int arrived) {
+        int n = byArrival.length;
+        int[] order = byArrival.clone();
+        int from = rankOf(workload, order, arrived, n, workload.arrival(index), index);
+        System.arraycopy(order, from + 1, order, from, n - 1 - from);
+        int to = rankOf(edited, order, arrived, n - 1, edited.arrival(index), index);
+        System.arraycopy(order, to, order, to + 1, n - 1 - to);
+        order[to] = index;
+        return order;
+    }
+
+    // First rank in [low, high) whose process comes at or after (arrival, index) in arrival
+    // order; equal arrivals keep row order
+    private static int rankOf(Workload workload, int[] order, int low, int high, int arrival, int index) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int other = order[mid];
+            int otherArrival = workload.arrival(other);
+            if (otherArrival < arrival || otherArrival == arrival && other < index) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Runs the schedule on from the given checkpoint, with the state before it in the
+    // arrays and lists passed in. byId may be null to sort the workload for it.
+    private IncrementalScheduler(boolean preemptive, Scheduler.Aging aging, Workload workload, int[] byArrival,
+                                 int[] byId, Scheduler.Checkpoint from, List<Scheduler.Checkpoint> checkpoints,
+                                 int[] finish, int[] completed, GanttEntryList ganttEntries,
+                                 ExecutionTimeline timeline, String firstProcessInfo,
+                                 Scheduler.RunMonitor monitor) {
+        this.preemptive = preemptive;
+        this.aging = aging;
+        this.workload = workload;
+        this.byArrival = byArrival;
+        this.completed = completed;
+        this.checkpoints = checkpoints;
+
+        // Ids never change, so a preemptive schedule's id order carries over to edits.
+        // Non-preemptive runs list processes sharing an id in completion order.
+        Scheduler.Resume resume = new Scheduler.Resume(from, byArrival, byId, finish, completed, ganttEntries,
+                timeline, firstProcessInfo, checkpoints);
+        result = preemptive
+                ? Scheduler.resumePreemptive(workload, aging, monitor, resume)
+                : Scheduler.resumeNonPreemptive(workload, aging, monitor, resume);
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.function.IntUnaryOperator;
+
+// Stable sorts of int index arrays by an int key, without boxing. Uses an LSD radix
+// sort over the key's bytes, so cost is linear in the number of indices.
+class IndexSort {
+    private IndexSort() {
+    }
+
+    static int[] identity(int n) {
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    // Returns a new array holding indices stably sorted by key(index)
+    static int[] sort(int[] indices, IntUnaryOperator key) {
+        int n = indices.length;
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            // Flip the sign bit so negative keys sort before positive ones as unsigned values
+            keys[i] = key.applyAsInt(indices[i]) ^ Integer.MIN_VALUE;
+        }
+        return sortByKeys(indices, keys);
+    }
+
+    // Returns a new array holding indices stably sorted by column[index]
+    static int[] sort(int[] indices, int[] column) {
+        int n = indices.length;
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = column[indices[i]] ^ Integer.MIN_VALUE;
+        }
+        return sortByKeys(indices, keys);
+    }
+
+    private static int[] sortByKeys(int[] indices, int[] keys) {
+        int n = indices.length;
+        int[] result = indices.clone();
+        int[] scratch = new int[n];
+        int[] scratchKeys = new int[n];
+        for (int shift = 0; shift < 32; shift += 8) {
+            if (radixPass(result, keys, scratch, scratchKeys, shift)) {
+                int[] swap = result;
+                result = scratch;
+                scratch = swap;
+                swap = keys;
+                keys = scratchKeys;
+                scratchKeys = swap;
+            }
+        }
+        return result;
+    }
+
+    // Scatters by one byte of the key; returns false (and moves nothing) when every
+    // key shares that byte, which is common for small keys such as priorities
+    private static boolean radixPass(int[] indices, int[] keys, int[] outIndices, int[] outKeys, int shift) {
+        int n = indices.length;
+        int[] counts = new int[257];
+        for (int key : keys) {
+            counts[((key >>> shift) & 0xFF) + 1]++;
+        }
+        for (int bucket = 1; bucket <= 256; bucket++) {
+            if (counts[bucket] == n) return false;
+        }
+        for (int i = 1; i < counts.length; i++) {
+            counts[i] += counts[i - 1];
+        }
+        for (int i = 0; i < n; i++) {
+            int pos = counts[(keys[i] >>> shift) & 0xFF]++;
+            outIndices[pos] = indices[i];
+            outKeys[pos] = keys[i];
+        }
+        return true;
+    }
+}
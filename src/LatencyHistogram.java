@@ -0,0 +1,137 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Log-bucketed histogram of non-negative int values (waiting or turnaround times).
+// Values below 256 get a bucket each; above that every power of two is split into 128
+// buckets, so a reported percentile is within 1/128 of the true value however many
+// values were recorded. The whole int range needs MAX_BUCKETS counters: 256 exact ones
+// plus 128 for each power of two from 2^8 to 2^30, 256 + 23 * 128 = 3200. They are
+// allocated only up to the largest bucket used, so memory does not grow with the number
+// of processes.
+//
+// Histograms of separate runs or shards merge by adding counters, and encode to a
+// compact sparse form (see LatencyStats for the file format).
+class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    static final int MAX_BUCKETS = bucket(Integer.MAX_VALUE) + 1;
+
+    private long[] counts = new long[0];
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max;
+
+    void record(int value) {
+        if (value < 0) throw new IllegalArgumentException("Negative value " + value);
+        int bucket = bucket(value);
+        if (bucket >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.min(MAX_BUCKETS, Math.max(bucket + 1, counts.length * 2)));
+        }
+        counts[bucket]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void merge(LatencyHistogram other) {
+        if (other.counts.length > counts.length) counts = Arrays.copyOf(counts, other.counts.length);
+        for (int bucket = 0; bucket < other.counts.length; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return count;
+    }
+
+    double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    // 0 when empty
+    int min() {
+        return count == 0 ? 0 : min;
+    }
+
+    int max() {
+        return max;
+    }
+
+    // Nearest-rank percentile: the highest value of the bucket holding the value at rank
+    // ceil(fraction * count), kept within [min, max]; exact below 256 and for the maximum
+    int percentile(double fraction) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) return (int) Math.max(min, Math.min(max, highest(bucket)));
+        }
+        return max;
+    }
+
+    int encodedBytes() {
+        int used = 0;
+        for (long c : counts) {
+            if (c != 0) used++;
+        }
+        return 28 + used * 12;
+    }
+
+    // count, sum, min, max, number of non-empty buckets, then bucket index and count pairs
+    void writeTo(ByteBuffer out) {
+        out.putLong(count).putLong(sum).putInt(min).putInt(max);
+        int position = out.position();
+        out.putInt(0);
+        int used = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] != 0) {
+                out.putInt(bucket).putLong(counts[bucket]);
+                used++;
+            }
+        }
+        out.putInt(position, used);
+    }
+
+    static LatencyHistogram readFrom(ByteBuffer in) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.count = in.getLong();
+        histogram.sum = in.getLong();
+        histogram.min = in.getInt();
+        histogram.max = in.getInt();
+        int used = in.getInt();
+        if (used < 0 || used > MAX_BUCKETS) throw new IllegalArgumentException("Corrupt histogram");
+        long total = 0;
+        for (int i = 0; i < used; i++) {
+            int bucket = in.getInt();
+            long c = in.getLong();
+            if (bucket < 0 || bucket >= MAX_BUCKETS || c <= 0) throw new IllegalArgumentException("Corrupt histogram");
+            if (bucket >= histogram.counts.length) histogram.counts = Arrays.copyOf(histogram.counts, bucket + 1);
+            histogram.counts[bucket] += c;
+            total += c;
+        }
+        if (total != histogram.count) throw new IllegalArgumentException("Corrupt histogram");
+        return histogram;
+    }
+
+    // Values below 2 * SUB_BUCKETS map to themselves; above, the top SUB_BITS + 1 bits
+    // of the value and its shift pick the bucket
+    private static int bucket(int value) {
+        if (value < 2 * SUB_BUCKETS) return value;
+        int shift = 31 - Integer.numberOfLeadingZeros(value) - SUB_BITS;
+        return shift * SUB_BUCKETS + (value >>> shift);
+    }
+
+    private static long highest(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) return bucket;
+        int shift = (bucket >>> SUB_BITS) - 1;
+        long mantissa = bucket - (long) shift * SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,93 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Waiting and turnaround histograms of a run, overall and per priority level, built in
+// one pass over the completed processes without keeping any per-process value. Stats of
+// separate runs or shards of one workload combine with merge.
+//
+// File format: header (magic, version, level count), then per level its priority and
+// the waiting and turnaround histograms (see LatencyHistogram.writeTo). Little-endian.
+class LatencyStats {
+    static final int MAGIC = 0x484C5350; // "PSLH"
+    static final int VERSION = 1;
+    // Percentiles shown in reports
+    static final double[] FRACTIONS = {0.50, 0.90, 0.99, 0.999};
+    static final String[] FRACTION_LABELS = {"p50", "p90", "p99", "p99.9"};
+
+    final LatencyHistogram waiting = new LatencyHistogram();
+    final LatencyHistogram turnaround = new LatencyHistogram();
+    // Priority -> {waiting, turnaround}
+    final Map<Integer, LatencyHistogram[]> byPriority = new TreeMap<>();
+
+    static LatencyStats of(Scheduler.SchedulingResult result) {
+        LatencyStats stats = new LatencyStats();
+        Workload workload = result.workload;
+        for (int i = 0; i < workload.size(); i++) {
+            stats.record(workload.priority(i), result.waiting(i), result.turnaround(i));
+        }
+        return stats;
+    }
+
+    void record(int priority, int waitingTime, int turnaroundTime) {
+        LatencyHistogram[] level = level(priority);
+        level[0].record(waitingTime);
+        level[1].record(turnaroundTime);
+        waiting.record(waitingTime);
+        turnaround.record(turnaroundTime);
+    }
+
+    void merge(LatencyStats other) {
+        for (Map.Entry<Integer, LatencyHistogram[]> entry : other.byPriority.entrySet()) {
+            LatencyHistogram[] level = level(entry.getKey());
+            level[0].merge(entry.getValue()[0]);
+            level[1].merge(entry.getValue()[1]);
+        }
+        waiting.merge(other.waiting);
+        turnaround.merge(other.turnaround);
+    }
+
+    void save(Path file) throws IOException {
+        int bytes = 12;
+        for (LatencyHistogram[] level : byPriority.values()) {
+            bytes += 4 + level[0].encodedBytes() + level[1].encodedBytes();
+        }
+        ByteBuffer out = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putInt(byPriority.size());
+        for (Map.Entry<Integer, LatencyHistogram[]> entry : byPriority.entrySet()) {
+            out.putInt(entry.getKey());
+            entry.getValue()[0].writeTo(out);
+            entry.getValue()[1].writeTo(out);
+        }
+        Files.write(file, out.array());
+    }
+
+    static LatencyStats load(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (in.getInt() != MAGIC) throw new IOException(file + " is not a latency histogram file");
+            int version = in.getInt();
+            if (version != VERSION) throw new IOException(file + " has unsupported version " + version);
+            LatencyStats stats = new LatencyStats();
+            for (int levels = in.getInt(); levels > 0; levels--) {
+                int priority = in.getInt();
+                LatencyHistogram[] level = {LatencyHistogram.readFrom(in), LatencyHistogram.readFrom(in)};
+                stats.byPriority.put(priority, level);
+                stats.waiting.merge(level[0]);
+                stats.turnaround.merge(level[1]);
+            }
+            return stats;
+        } catch (RuntimeException e) {
+            throw new IOException(file + " is truncated or corrupt", e);
+        }
+    }
+
+    private LatencyHistogram[] level(int priority) {
+        return byPriority.computeIfAbsent(priority,
+                p -> new LatencyHistogram[]{new LatencyHistogram(), new LatencyHistogram()});
+    }
+}
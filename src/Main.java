@@ -1,19 +1,29 @@
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class Main{
     private JFrame frame;
     private JTable table;
     private JTextArea outputArea;
-    private JTextArea executionTimelineArea;
+    private ExecutionTimelinePanel executionTimelinePanel;
     private JLabel firstProcessLabel;
-    private JButton preemptiveButton, nonPreemptiveButton, generateDataButton, explainButton;
+    private JButton preemptiveButton, nonPreemptiveButton, generateDataButton, explainButton, cancelButton;
+    private JProgressBar progressBar;
+    private SchedulingWorker worker;
     private JScrollPane ganttScrollPane;
     private GanttChartPanel ganttPanel;
     private JSpinner processCountSpinner;
+    private JSpinner cpuCountSpinner;
+    private final ResultCache resultCache;
+    // Last single-CPU schedule of each policy; a run that changes one row of it only
+    // re-simulates from that row's arrival (see IncrementalScheduler)
+    private IncrementalScheduler lastPreemptive, lastNonPreemptive;
     private static final Color PRIMARY_COLOR = new Color(0, 120, 215);
     private static final Color SECONDARY_COLOR = new Color(245, 245, 245);
     private static final Color ACCENT_COLOR = new Color(46, 125, 50);
@@ -23,6 +33,11 @@ public class Main{
     }
 
     public Main() {
+        // Results of earlier runs; -Dscheduler.cache.dir=DIR also keeps them between sessions
+        String cacheDirectory = System.getProperty("scheduler.cache.dir");
+        resultCache = new ResultCache(cacheDirectory == null ? null : Path.of(cacheDirectory));
+        resultCache.register();
+
         // Initialize frame with modern look
         frame = new JFrame("Priority Scheduling Simulator");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -75,6 +90,13 @@ public class Main{
         processCountSpinner.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         processCountSpinner.setPreferredSize(new Dimension(60, 30));
 
+        // CPU count input
+        JLabel cpuCountLabel = new JLabel("CPUs:");
+        cpuCountLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        cpuCountSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 128, 1));
+        cpuCountSpinner.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        cpuCountSpinner.setPreferredSize(new Dimension(60, 30));
+
         preemptiveButton = createStyledButton("Preemptive");
         nonPreemptiveButton = createStyledButton("Non-Preemptive");
         generateDataButton = createStyledButton("Generate Data");
@@ -82,6 +104,8 @@ public class Main{
 
         controlsPanel.add(processCountLabel);
         controlsPanel.add(processCountSpinner);
+        controlsPanel.add(cpuCountLabel);
+        controlsPanel.add(cpuCountSpinner);
         controlsPanel.add(Box.createHorizontalStrut(20));
         controlsPanel.add(generateDataButton);
         controlsPanel.add(Box.createHorizontalStrut(10));
@@ -89,12 +113,26 @@ public class Main{
         controlsPanel.add(nonPreemptiveButton);
         controlsPanel.add(explainButton);
 
+        // Progress row, active while a schedule is being computed
+        JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 0));
+        progressPanel.setBackground(Color.WHITE);
+        progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setString("Idle");
+        progressBar.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        progressBar.setPreferredSize(new Dimension(400, 22));
+        cancelButton = createStyledButton("Cancel");
+        cancelButton.setEnabled(false);
+        progressPanel.add(progressBar);
+        progressPanel.add(cancelButton);
+
         topPanel.add(titlePanel);
         topPanel.add(firstProcessPanel);
         topPanel.add(controlsPanel);
+        topPanel.add(progressPanel);
 
         // Table setup
-        String[] columnNames = {"Process ID", "Arrival Time", "Burst Time", "Priority"};
+        String[] columnNames = {"Process ID", "Arrival Time", "Burst Time", "Priority", "CPU Affinity"};
         DefaultTableModel model = new DefaultTableModel(columnNames, 5);
         table = new JTable(model);
         table.setRowHeight(30);
@@ -123,13 +161,8 @@ public class Main{
         ));
 
         // Execution Timeline area
-        executionTimelineArea = new JTextArea();
-        executionTimelineArea.setFont(new Font("Consolas", Font.PLAIN, 12));
-        executionTimelineArea.setEditable(false);
-        executionTimelineArea.setBackground(new Color(250, 250, 250));
-
-        JScrollPane timelineScrollPane = new JScrollPane(executionTimelineArea);
-        timelineScrollPane.setBorder(BorderFactory.createCompoundBorder(
+        executionTimelinePanel = new ExecutionTimelinePanel();
+        executionTimelinePanel.setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createTitledBorder("Execution Timeline"),
                 BorderFactory.createEmptyBorder(5, 5, 5, 5)
         ));
@@ -140,7 +173,7 @@ public class Main{
 
         ganttScrollPane = new JScrollPane(ganttPanel);
         ganttScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
-        ganttScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_NEVER);
+        ganttScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         ganttScrollPane.setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createTitledBorder("Gantt Chart"),
                 BorderFactory.createEmptyBorder(5, 5, 5, 5)
@@ -151,7 +184,7 @@ public class Main{
         // Create tabbed pane for results and timeline
         JTabbedPane resultsTabbedPane = new JTabbedPane();
         resultsTabbedPane.addTab("Results Summary", outputScrollPane);
-        resultsTabbedPane.addTab("Execution Timeline", timelineScrollPane);
+        resultsTabbedPane.addTab("Execution Timeline", executionTimelinePanel);
         resultsTabbedPane.setFont(new Font("Segoe UI", Font.PLAIN, 12));
 
         // Split pane for results/timeline and Gantt chart
@@ -173,6 +206,9 @@ public class Main{
         nonPreemptiveButton.addActionListener(e -> runScheduling(false));
         generateDataButton.addActionListener(e -> generateRandomData());
         explainButton.addActionListener(e -> showExplanationModal());
+        cancelButton.addActionListener(e -> {
+            if (worker != null) worker.cancel(false);
+        });
 
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
@@ -306,7 +342,7 @@ public class Main{
         // Reset displays
         firstProcessLabel.setText("First Process: Not determined yet");
         outputArea.setText("");
-        executionTimelineArea.setText("");
+        executionTimelinePanel.setTimeline(null);
         ganttPanel.setGanttEntries(new ArrayList<>());
 
         JOptionPane.showMessageDialog(frame,
@@ -322,6 +358,8 @@ public class Main{
 
     private void runScheduling(boolean isPreemptive) {
         List<Process> processes = new ArrayList<>();
+        ProcessTable workload = new ProcessTable();
+        int cpuCount = (Integer) cpuCountSpinner.getValue();
         try {
             for (int i = 0; i < table.getRowCount(); i++) {
                 if (table.getValueAt(i, 0) == null) continue;
@@ -349,7 +387,21 @@ public class Main{
                     return;
                 }
 
+                // Blank affinity means the process may run on any CPU
+                Object affinityValue = table.getValueAt(i, 4);
+                int affinity = -1;
+                if (affinityValue != null && !affinityValue.toString().isBlank()) {
+                    affinity = Integer.parseInt(affinityValue.toString().trim());
+                    if (affinity < 0 || affinity >= cpuCount) {
+                        JOptionPane.showMessageDialog(frame,
+                                "CPU affinity must be between 0 and " + (cpuCount - 1) + " for Process " + id,
+                                "Input Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                }
+
                 processes.add(new Process(id, arrival, burst, priority));
+                workload.add(id, arrival, burst, priority, affinity);
             }
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(frame, "Please ensure all fields are filled with valid numbers.",
@@ -386,36 +438,197 @@ public class Main{
             }
         }
 
-        Scheduler.SchedulingResult result;
-        if (isPreemptive) {
-            result = Scheduler.runPreemptive(processes);
-        } else {
-            result = Scheduler.runNonPreemptive(processes);
+        setRunning(true);
+        progressBar.setMaximum(workload.size());
+        progressBar.setValue(0);
+        progressBar.setString("Scheduling...");
+        firstProcessLabel.setText("First Process: Not determined yet");
+        outputArea.setText("");
+        executionTimelinePanel.setTimeline(null);
+        ganttPanel.setGanttEntries(new ArrayList<>());
+        worker = new SchedulingWorker(workload, isPreemptive, cpuCount,
+                isPreemptive ? lastPreemptive : lastNonPreemptive);
+        worker.execute();
+    }
+
+    private void setRunning(boolean running) {
+        preemptiveButton.setEnabled(!running);
+        nonPreemptiveButton.setEnabled(!running);
+        generateDataButton.setEnabled(!running);
+        cancelButton.setEnabled(running);
+    }
+
+    // Gantt entries and progress produced since the previous update
+    static class PartialSchedule {
+        final int time, completed;
+        final GanttEntryList[] newEntries;
+
+        PartialSchedule(int time, int completed, GanttEntryList[] newEntries) {
+            this.time = time;
+            this.completed = completed;
+            this.newEntries = newEntries;
+        }
+    }
+
+    // Runs the scheduler and builds the report text off the EDT. The Gantt chart and
+    // summary are updated with partial results while it runs, and Cancel stops the
+    // scheduler at its next completion.
+    private class SchedulingWorker extends SwingWorker<Scheduler.SchedulingResult, PartialSchedule> {
+        private static final long PUBLISH_INTERVAL_NANOS = 200_000_000L;
+
+        private final ProcessTable workload;
+        private final boolean isPreemptive;
+        private final int cpuCount;
+        private final IncrementalScheduler previous;
+        // Worker thread only: how many entries of each lane have been published
+        private int[] publishedEntries;
+        private long lastPublish = System.nanoTime();
+        // EDT only: everything received so far
+        private GanttEntryList[] partialLanes;
+        private int completedSoFar;
+        // Built by doInBackground, read after get()
+        private String output;
+        private boolean cached;
+        private IncrementalScheduler schedule;
+
+        SchedulingWorker(ProcessTable workload, boolean isPreemptive, int cpuCount,
+                         IncrementalScheduler previous) {
+            this.workload = workload;
+            this.isPreemptive = isPreemptive;
+            this.cpuCount = cpuCount;
+            this.previous = previous;
         }
 
-        // Update all displays
-        outputArea.setText(result.output);
-        ganttPanel.setGanttEntries(result.ganttEntries);
-        firstProcessLabel.setText(result.firstProcessInfo);
+        @Override
+        protected Scheduler.SchedulingResult doInBackground() {
+            int total = workload.size();
+            Scheduler.RunMonitor monitor = (time, completedCount, lanes) -> {
+                if (isCancelled()) return false;
+                long now = System.nanoTime();
+                if (completedCount == total || now - lastPublish >= PUBLISH_INTERVAL_NANOS) {
+                    lastPublish = now;
+                    publish(new PartialSchedule(time, completedCount, newEntries(lanes)));
+                }
+                return true;
+            };
+
+            String key = ResultCache.key(workload, isPreemptive, cpuCount, null, null);
+            Scheduler.SchedulingResult result = resultCache.get(key, workload);
+            cached = result != null;
+            if (result == null) {
+                if (cpuCount > 1) {
+                    result = isPreemptive
+                            ? MultiCoreScheduler.runPreemptive(workload, cpuCount, monitor)
+                            : MultiCoreScheduler.runNonPreemptive(workload, cpuCount, monitor);
+                } else {
+                    schedule = previous == null ? null : previous.update(workload, monitor);
+                    if (schedule == null) {
+                        schedule = isPreemptive
+                                ? IncrementalScheduler.runPreemptive(workload, null, monitor)
+                                : IncrementalScheduler.runNonPreemptive(workload, null, monitor);
+                    }
+                    result = schedule.result();
+                }
+                resultCache.put(key, result);
+            }
 
-        // Update execution timeline
-        StringBuilder timelineText = new StringBuilder();
-        timelineText.append("Execution Timeline Details:\n");
-        timelineText.append("=" .repeat(40)).append("\n\n");
+            output = result.summaryOutput();
+            return result;
+        }
 
-        for (Scheduler.ExecutionStep step : result.executionSteps) {
-            timelineText.append(step.toString()).append("\n");
+        // Copies the entries added to each lane since the last call
+        private GanttEntryList[] newEntries(GanttEntryList[] lanes) {
+            if (publishedEntries == null) publishedEntries = new int[lanes.length];
+            GanttEntryList[] slices = new GanttEntryList[lanes.length];
+            for (int lane = 0; lane < lanes.length; lane++) {
+                slices[lane] = new GanttEntryList();
+                for (int i = publishedEntries[lane]; i < lanes[lane].size(); i++) {
+                    slices[lane].add(lanes[lane].processId(i), lanes[lane].start(i), lanes[lane].end(i));
+                }
+                publishedEntries[lane] = lanes[lane].size();
+            }
+            return slices;
         }
 
-        executionTimelineArea.setText(timelineText.toString());
+        @Override
+        protected void process(List<PartialSchedule> chunks) {
+            if (isCancelled() || worker != this) return;
+            PartialSchedule last = chunks.get(chunks.size() - 1);
+            for (PartialSchedule chunk : chunks) {
+                if (partialLanes == null) {
+                    partialLanes = new GanttEntryList[chunk.newEntries.length];
+                    Arrays.setAll(partialLanes, lane -> new GanttEntryList());
+                }
+                for (int lane = 0; lane < partialLanes.length; lane++) {
+                    GanttEntryList slice = chunk.newEntries[lane];
+                    for (int i = 0; i < slice.size(); i++) {
+                        partialLanes[lane].add(slice.processId(i), slice.start(i), slice.end(i));
+                    }
+                }
+            }
+            completedSoFar = last.completed;
+
+            progressBar.setValue(last.completed);
+            progressBar.setString(last.completed + " / " + workload.size() + " processes (time " + last.time + ")");
+            outputArea.setText("Scheduling in progress: " + last.completed + " of " + workload.size()
+                    + " processes completed by time " + last.time + ".\n");
+            // The chart renders on its own threads, so it gets snapshots that later chunks
+            // never change
+            GanttEntryList[] snapshot = new GanttEntryList[partialLanes.length];
+            Arrays.setAll(snapshot, lane -> partialLanes[lane].snapshot());
+            showLanes(snapshot);
+        }
 
-        // Ensure UI components update properly
-        ganttScrollPane.revalidate();
-        ganttScrollPane.repaint();
+        @Override
+        protected void done() {
+            if (worker != this) return;
+            worker = null;
+            setRunning(false);
+            try {
+                Scheduler.SchedulingResult result = get();
+                if (schedule != null) {
+                    if (isPreemptive) {
+                        lastPreemptive = schedule;
+                    } else {
+                        lastNonPreemptive = schedule;
+                    }
+                }
+                progressBar.setValue(progressBar.getMaximum());
+                progressBar.setString(cached ? "Done (cached)" : "Done");
+
+                // Update all displays
+                outputArea.setText(output);
+                showLanes(result.coreLanes != null ? result.coreLanes : new GanttEntryList[]{result.ganttEntries});
+                firstProcessLabel.setText(result.firstProcessInfo);
+                executionTimelinePanel.setTimeline(result.executionSteps);
+                SwingUtilities.invokeLater(() -> {
+                    ganttScrollPane.getHorizontalScrollBar().setValue(0);
+                });
+            } catch (CancellationException e) {
+                progressBar.setString("Cancelled");
+                outputArea.setText("Scheduling cancelled after " + completedSoFar + " of " + workload.size()
+                        + " processes completed.\nThe Gantt chart shows the partial schedule.\n");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                progressBar.setString("Failed");
+                JOptionPane.showMessageDialog(frame, "Scheduling failed: " + e.getCause().getMessage(),
+                        "Scheduling Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
 
-        SwingUtilities.invokeLater(() -> {
-            ganttScrollPane.getHorizontalScrollBar().setValue(0);
-        });
+        private void showLanes(GanttEntryList[] lanes) {
+            if (lanes == null) return;
+            if (cpuCount > 1) {
+                ganttPanel.setCoreLanes(List.of(lanes));
+            } else {
+                ganttPanel.setGanttEntries(lanes[0]);
+            }
+
+            // Ensure UI components update properly
+            ganttScrollPane.revalidate();
+            ganttScrollPane.repaint();
+        }
     }
 
     static class Process {
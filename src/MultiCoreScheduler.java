@@ -0,0 +1,233 @@
+import java.util.Arrays;
+
+// Priority scheduling on several CPUs. Each CPU has its own run queues: one for
+// processes pinned to it through their affinity and one for processes that may run
+// anywhere. Arrivals go to an idle CPU if there is one, otherwise to the CPU with the
+// shortest queue; a CPU that runs dry steals the best unpinned process from the CPU
+// with the longest queue. Like Scheduler, the clock jumps from event to event.
+// With one CPU the schedule is the same as Scheduler's.
+class MultiCoreScheduler {
+    private final Workload workload;
+    private final int cpuCount;
+    private final boolean preemptive;
+    private final Scheduler.RunMonitor monitor;
+    private final int[] byArrival;
+    private final int[] remaining;
+    private final int[] finish;
+
+    private final ReadyQueue[] pinnedQueues;
+    private final ReadyQueue[] sharedQueues;
+    private final int[] running;          // rank of the running process, or -1 when idle
+    private final int[] segmentStart;
+    private final int[] segmentRemaining;
+    private final int[] completionTime;
+    private final long[] busyTime;
+    private final GanttEntryList[] lanes;
+
+    // Closed run segments across all CPUs, turned into the timeline at the end
+    private final GanttEntryList segments = new GanttEntryList();
+    private int[] segmentRemainingAtStart = new int[16];
+
+    private String firstProcessInfo = "";
+
+    private MultiCoreScheduler(Workload workload, int cpuCount, boolean preemptive, Scheduler.RunMonitor monitor) {
+        this.workload = workload;
+        this.cpuCount = cpuCount;
+        this.preemptive = preemptive;
+        this.monitor = monitor;
+        int n = workload.size();
+        byArrival = workload.byArrival();
+        remaining = new int[n];
+        finish = new int[n];
+        pinnedQueues = new ReadyQueue[cpuCount];
+        sharedQueues = new ReadyQueue[cpuCount];
+        lanes = new GanttEntryList[cpuCount];
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            pinnedQueues[cpu] = new ReadyQueue(16);
+            sharedQueues[cpu] = new ReadyQueue(16);
+            lanes[cpu] = new GanttEntryList();
+        }
+        running = new int[cpuCount];
+        Arrays.fill(running, -1);
+        segmentStart = new int[cpuCount];
+        segmentRemaining = new int[cpuCount];
+        completionTime = new int[cpuCount];
+        busyTime = new long[cpuCount];
+    }
+
+    public static Scheduler.SchedulingResult runPreemptive(Workload workload, int cpuCount) {
+        return runPreemptive(workload, cpuCount, null);
+    }
+
+    public static Scheduler.SchedulingResult runNonPreemptive(Workload workload, int cpuCount) {
+        return runNonPreemptive(workload, cpuCount, null);
+    }
+
+    // monitor may be null; it sees one Gantt lane per CPU
+    public static Scheduler.SchedulingResult runPreemptive(Workload workload, int cpuCount,
+                                                           Scheduler.RunMonitor monitor) {
+        return new MultiCoreScheduler(checked(workload, cpuCount), cpuCount, true, monitor).run();
+    }
+
+    public static Scheduler.SchedulingResult runNonPreemptive(Workload workload, int cpuCount,
+                                                              Scheduler.RunMonitor monitor) {
+        return new MultiCoreScheduler(checked(workload, cpuCount), cpuCount, false, monitor).run();
+    }
+
+    private static Workload checked(Workload workload, int cpuCount) {
+        if (cpuCount <= 0) throw new IllegalArgumentException("CPU count must be greater than 0");
+        for (int i = 0; i < workload.size(); i++) {
+            if (workload.affinity(i) >= cpuCount) {
+                throw new IllegalArgumentException("CPU affinity " + workload.affinity(i) + " of Process "
+                        + workload.id(i) + " is out of range for " + cpuCount + " CPUs");
+            }
+        }
+        return workload;
+    }
+
+    private Scheduler.SchedulingResult run() {
+        int n = byArrival.length;
+        int time = 0;
+        int nextArrival = 0;
+        int completedCount = 0;
+
+        while (completedCount < n) {
+            // Completions first, so a CPU freed at this instant can take new work
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                if (running[cpu] != -1 && completionTime[cpu] == time) {
+                    int index = byArrival[running[cpu]];
+                    finish[index] = time;
+                    remaining[index] = 0;
+                    closeSegment(cpu, time);
+                    running[cpu] = -1;
+                    completedCount++;
+                    Scheduler.notify(monitor, time, completedCount, lanes);
+                }
+            }
+
+            while (nextArrival < n && workload.arrival(byArrival[nextArrival]) <= time) {
+                int index = byArrival[nextArrival];
+                remaining[index] = workload.burst(index);
+                enqueue(placementFor(index), nextArrival++);
+            }
+
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                dispatch(cpu, time);
+            }
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                if (running[cpu] == -1) steal(cpu, time);
+            }
+
+            int nextTime = nextArrival < n ? workload.arrival(byArrival[nextArrival]) : Integer.MAX_VALUE;
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                if (running[cpu] != -1) nextTime = Math.min(nextTime, completionTime[cpu]);
+            }
+            if (nextTime == Integer.MAX_VALUE) break;
+            time = nextTime;
+        }
+
+        int[] order = IndexSort.sort(IndexSort.identity(segments.size()), segments::start);
+        ExecutionTimeline timeline = new ExecutionTimeline(preemptive ? "executing" : "completing");
+        GanttEntryList ganttEntries = new GanttEntryList();
+        for (int s : order) {
+            timeline.append(segments.processId(s), segments.start(s), segments.end(s), segmentRemainingAtStart[s]);
+            ganttEntries.add(segments.processId(s), segments.start(s), segments.end(s));
+        }
+
+        String title = (preemptive ? "Preemptive" : "Non-Preemptive") + " Priority Scheduling ("
+                + cpuCount + (cpuCount == 1 ? " CPU)" : " CPUs)");
+        Scheduler.SchedulingResult result = new Scheduler.SchedulingResult(title, workload, finish,
+                workload.byId(), ganttEntries, timeline, firstProcessInfo);
+        result.coreLanes = lanes;
+        result.coreBusyTime = busyTime;
+        return result;
+    }
+
+    // CPU whose queue an arriving (or preempted, unpinned) process joins
+    private int placementFor(int index) {
+        int affinity = workload.affinity(index);
+        if (affinity >= 0) return affinity;
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            int load = pinnedQueues[cpu].size() + sharedQueues[cpu].size() + (running[cpu] == -1 ? 0 : 1);
+            if (load < bestLoad) {
+                best = cpu;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private void enqueue(int cpu, int rank) {
+        int index = byArrival[rank];
+        ReadyQueue queue = workload.affinity(index) >= 0 ? pinnedQueues[cpu] : sharedQueues[cpu];
+        queue.add(workload.priority(index), rank);
+    }
+
+    // Starts the best queued process on an idle CPU, or preempts a worse running one
+    private void dispatch(int cpu, int time) {
+        ReadyQueue queue = bestQueue(cpu);
+        if (queue == null) return;
+        int candidate = queue.peek();
+        if (running[cpu] != -1) {
+            if (!preemptive || !before(candidate, running[cpu])) return;
+            int preempted = running[cpu];
+            closeSegment(cpu, time);
+            remaining[byArrival[preempted]] = completionTime[cpu] - time;
+            running[cpu] = -1;
+            enqueue(cpu, preempted);
+            queue = bestQueue(cpu);
+        }
+        start(cpu, queue.poll(), time);
+    }
+
+    private void steal(int cpu, int time) {
+        int victim = -1;
+        for (int other = 0; other < cpuCount; other++) {
+            if (other != cpu && !sharedQueues[other].isEmpty()
+                    && (victim == -1 || sharedQueues[other].size() > sharedQueues[victim].size())) {
+                victim = other;
+            }
+        }
+        if (victim != -1) start(cpu, sharedQueues[victim].poll(), time);
+    }
+
+    private ReadyQueue bestQueue(int cpu) {
+        ReadyQueue pinned = pinnedQueues[cpu];
+        ReadyQueue shared = sharedQueues[cpu];
+        if (pinned.isEmpty()) return shared.isEmpty() ? null : shared;
+        if (shared.isEmpty()) return pinned;
+        return before(pinned.peek(), shared.peek()) ? pinned : shared;
+    }
+
+    // Same order as the ready heap: priority, then arrival rank
+    private boolean before(int rankA, int rankB) {
+        int pa = workload.priority(byArrival[rankA]);
+        int pb = workload.priority(byArrival[rankB]);
+        return pa != pb ? pa < pb : rankA < rankB;
+    }
+
+    private void start(int cpu, int rank, int time) {
+        int index = byArrival[rank];
+        if (firstProcessInfo.isEmpty()) {
+            firstProcessInfo = String.format("First Process to Execute: P%d (Priority: %d, Arrival: %d, Burst: %d)",
+                    workload.id(index), workload.priority(index), workload.arrival(index), workload.burst(index));
+        }
+        running[cpu] = rank;
+        segmentStart[cpu] = time;
+        segmentRemaining[cpu] = remaining[index];
+        completionTime[cpu] = time + remaining[index];
+    }
+
+    private void closeSegment(int cpu, int time) {
+        int id = workload.id(byArrival[running[cpu]]);
+        lanes[cpu].add(id, segmentStart[cpu], time);
+        if (segments.size() == segmentRemainingAtStart.length) {
+            segmentRemainingAtStart = Arrays.copyOf(segmentRemainingAtStart, segments.size() * 2);
+        }
+        segmentRemainingAtStart[segments.size()] = segmentRemaining[cpu];
+        segments.add(id, segmentStart[cpu], time);
+        busyTime[cpu] += time - segmentStart[cpu];
+    }
+}
@@ -0,0 +1,209 @@
+import java.util.Arrays;
+
+// Incremental form of the priority scheduling policy for driving a live dispatcher.
+// Processes can be submitted at any simulated time, the clock is advanced explicitly,
+// and dispatch/preempt/complete decisions are delivered to a Listener as they happen.
+// Pending arrivals wait in a TimingWheel, so admitting them and finding the next one is
+// amortized O(1) however widely they are spread; ready processes cost O(log n) in the
+// number of live processes. Slots of completed processes are recycled, so memory is
+// bounded by the processes still pending or ready, no matter how long the stream runs.
+//
+// Ties between equal priorities go to the process that became ready first, then to
+// the one submitted first, which gives the same schedule as Scheduler when processes
+// are submitted in input order.
+class OnlineScheduler {
+    interface Listener {
+        default void dispatched(int time, int processId) {
+        }
+
+        default void preempted(int time, int processId, int remaining) {
+        }
+
+        default void completed(int time, int processId, int waiting, int turnaround) {
+        }
+    }
+
+    private final boolean preemptive;
+    private final Listener listener;
+
+    // Per-slot process state; slots are reused once a process completes
+    private int[] ids = new int[16];
+    private int[] arrivals = new int[16];
+    private int[] bursts = new int[16];
+    private int[] priorities = new int[16];
+    private int[] remaining = new int[16];
+    private long[] sequence = new long[16];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private long nextSequence;
+
+    private final TimingWheel pending = new TimingWheel() {
+        @Override
+        int time(int slot) {
+            return arrivals[slot];
+        }
+
+        @Override
+        boolean before(int a, int b) {
+            return sequence[a] < sequence[b];
+        }
+    };
+    private final SlotHeap ready = new SlotHeap() {
+        @Override
+        boolean before(int a, int b) {
+            return priorities[a] != priorities[b] ? priorities[a] < priorities[b] : sequence[a] < sequence[b];
+        }
+    };
+
+    private int now;
+    private int running = -1;
+    private int runningSince;
+
+    OnlineScheduler(boolean preemptive, Listener listener) {
+        this.preemptive = preemptive;
+        this.listener = listener;
+    }
+
+    int now() {
+        return now;
+    }
+
+    // Processes submitted but not yet completed
+    int liveCount() {
+        return pending.size() + ready.size + (running == -1 ? 0 : 1);
+    }
+
+    void submit(int id, int arrival, int burst, int priority) {
+        if (burst <= 0) throw new IllegalArgumentException("Burst time must be greater than 0 for Process " + id);
+        if (priority <= 0) throw new IllegalArgumentException("Priority must be greater than 0 for Process " + id);
+        if (arrival < now) {
+            throw new IllegalArgumentException("Arrival time " + arrival + " of Process " + id
+                    + " is before the current time " + now);
+        }
+        int slot = allocateSlot();
+        ids[slot] = id;
+        arrivals[slot] = arrival;
+        bursts[slot] = burst;
+        priorities[slot] = priority;
+        remaining[slot] = burst;
+        sequence[slot] = nextSequence++;
+        pending.add(slot, arrival);
+    }
+
+    // Handles every event before time and moves the clock to time. Decisions at time itself
+    // wait for the next call, so processes submitted for that instant are taken into account.
+    void advanceTo(int time) {
+        if (time < now) throw new IllegalArgumentException("Cannot move the clock back to " + time);
+        while (now < time) {
+            settle();
+            now = Math.min(nextEventTime(), time);
+        }
+    }
+
+    // Advances until every submitted process has completed
+    void drain() {
+        while (true) {
+            settle();
+            int next = nextEventTime();
+            if (next == Integer.MAX_VALUE) return;
+            now = next;
+        }
+    }
+
+    // Time of the next arrival or completion, or Integer.MAX_VALUE when there is none
+    int nextEventTime() {
+        int next = pending.nextTime();
+        if (running != -1) next = Math.min(next, runningSince + remaining[running]);
+        return next;
+    }
+
+    // Completes, admits and dispatches everything due at the current time
+    private void settle() {
+        if (running != -1 && runningSince + remaining[running] == now) {
+            complete();
+        }
+        // Ready order: when the process arrived, then submission order
+        for (int slot = pending.poll(now); slot >= 0; slot = pending.poll(now)) {
+            sequence[slot] = nextSequence++;
+            ready.add(slot);
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (ready.size == 0) return;
+        if (running != -1) {
+            if (!preemptive || !ready.before(ready.peek(), running)) return;
+            remaining[running] -= now - runningSince;
+            listener.preempted(now, ids[running], remaining[running]);
+            ready.add(running);
+        }
+        running = ready.poll();
+        runningSince = now;
+        listener.dispatched(now, ids[running]);
+    }
+
+    private void complete() {
+        int slot = running;
+        running = -1;
+        int turnaround = now - arrivals[slot];
+        listener.completed(now, ids[slot], turnaround - bursts[slot], turnaround);
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        if (slotCount == ids.length) {
+            int capacity = slotCount * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            arrivals = Arrays.copyOf(arrivals, capacity);
+            bursts = Arrays.copyOf(bursts, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            remaining = Arrays.copyOf(remaining, capacity);
+            sequence = Arrays.copyOf(sequence, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return slotCount++;
+    }
+
+    // Binary min-heap of slots ordered by before()
+    private abstract static class SlotHeap {
+        int[] heap = new int[16];
+        int size;
+
+        abstract boolean before(int a, int b);
+
+        void add(int slot) {
+            if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(slot, heap[parent])) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = slot;
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        int poll() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+                if (!before(heap[child], last)) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
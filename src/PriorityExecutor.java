@@ -0,0 +1,365 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// ExecutorService that runs real tasks under the same rules as Scheduler: at most
+// `parallelism` tasks run at once, and a free slot always goes to the ready task with
+// the lowest priority number, ties going to the task submitted first.
+//
+// In preemptive mode a running task that calls checkpoint() is parked when a better
+// task is waiting; its slot goes to that task and the parked one rejoins the ready set
+// with its original place in line. Tasks that never call checkpoint() run to
+// completion, as in non-preemptive mode.
+//
+// Tasks run on carrier threads (platform or virtual) that only hold a slot while their
+// task is running. Waiting and turnaround are measured per task and can be rendered
+// with the same report as a simulation through measuredResult().
+class PriorityExecutor extends AbstractExecutorService {
+    // Implemented by Runnables and Callables that carry their own priority
+    interface Prioritized {
+        int priority();
+    }
+
+    // Priority of tasks submitted without one: they run after all prioritized work
+    static final int DEFAULT_PRIORITY = Integer.MAX_VALUE;
+
+    private static final ThreadLocal<Task<?>> CURRENT = new ThreadLocal<>();
+
+    private final int parallelism;
+    private final boolean preemptive;
+    private final ExecutorService carriers;
+    private final TimeUnit metricsUnit;
+    private final long origin = System.nanoTime();
+
+    private final ConcurrentSkipListSet<Task<?>> ready = new ConcurrentSkipListSet<>();
+    private final Set<Task<?>> running = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger freeSlots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger unfinished = new AtomicInteger();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile boolean shutdown;
+
+    // Completed tasks and their run segments, in metricsUnit since the executor started
+    private ProcessTable completed = new ProcessTable();
+    private int[] completedFinish = new int[16];
+    private GanttEntryList segments = new GanttEntryList();
+    private int[] segmentRemainingAtStart = new int[16];
+
+    PriorityExecutor(int parallelism, boolean preemptive, ThreadFactory carrierFactory, TimeUnit metricsUnit) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be greater than 0");
+        this.parallelism = parallelism;
+        this.preemptive = preemptive;
+        this.carriers = Executors.newThreadPerTaskExecutor(carrierFactory);
+        this.metricsUnit = metricsUnit;
+        this.freeSlots = new AtomicInteger(parallelism);
+    }
+
+    static PriorityExecutor platformThreads(int parallelism, boolean preemptive) {
+        return new PriorityExecutor(parallelism, preemptive, Thread.ofPlatform().name("priority-", 0).factory(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    static PriorityExecutor virtualThreads(int parallelism, boolean preemptive) {
+        return new PriorityExecutor(parallelism, preemptive, Thread.ofVirtual().name("priority-", 0).factory(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    // Called from inside a task: in preemptive mode, parks the task while a better one is
+    // waiting and resumes it once it is the best ready task again. Returns immediately
+    // when called outside a task of this kind or when nothing better is waiting.
+    static void checkpoint() {
+        Task<?> task = CURRENT.get();
+        if (task != null) task.executor().yieldIfOutranked(task);
+    }
+
+    <T> Future<T> submit(Callable<T> task, int priority) {
+        Task<T> future = new Task<>(task, priority);
+        execute(future);
+        return future;
+    }
+
+    Future<?> submit(Runnable task, int priority) {
+        Task<Object> future = new Task<>(Executors.callable(task), priority);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new Task<>(callable, priorityOf(callable));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new Task<>(Executors.callable(runnable, value), priorityOf(runnable));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Task<?> task = command instanceof Task<?> t && t.executor() == this
+                ? t
+                : new Task<>(Executors.callable(command), priorityOf(command));
+        unfinished.incrementAndGet();
+        if (shutdown) {
+            taskFinished();
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        ready.add(task);
+        dispatch();
+    }
+
+    private static int priorityOf(Object task) {
+        return task instanceof Prioritized p ? p.priority() : DEFAULT_PRIORITY;
+    }
+
+    // Hands free slots to the best ready tasks until either runs out
+    private void dispatch() {
+        while (!ready.isEmpty()) {
+            int free = freeSlots.get();
+            if (free == 0) return;
+            if (!freeSlots.compareAndSet(free, free - 1)) continue;
+            Task<?> task = ready.pollFirst();
+            if (task == null) {
+                freeSlots.incrementAndGet();
+                continue;
+            }
+            if (task.thread != null) {
+                // A parked task: its carrier is waiting in yieldIfOutranked
+                task.resumed = true;
+                LockSupport.unpark(task.thread);
+            } else {
+                carriers.execute(() -> runTask(task));
+            }
+        }
+    }
+
+    private void runTask(Task<?> task) {
+        task.thread = Thread.currentThread();
+        running.add(task);
+        CURRENT.set(task);
+        task.beginSegment();
+        try {
+            task.run();
+        } finally {
+            task.endSegment();
+            CURRENT.remove();
+            running.remove(task);
+            try {
+                if (!task.isCancelled()) record(task);
+            } finally {
+                // The slot must come back even if the metrics could not be recorded
+                freeSlots.incrementAndGet();
+                taskFinished();
+                dispatch();
+            }
+        }
+    }
+
+    private void yieldIfOutranked(Task<?> task) {
+        if (!preemptive) return;
+        try {
+            if (ready.first().compareTo(task) >= 0) return;
+        } catch (NoSuchElementException e) {
+            return;
+        }
+
+        task.endSegment();
+        task.resumed = false;
+        ready.add(task);
+        freeSlots.incrementAndGet();
+        dispatch();
+        // park returns at once while the interrupt flag is set (shutdownNow interrupts parked
+        // tasks too), so clear it while waiting and hand it back to the task on resuming
+        boolean interrupted = false;
+        while (!task.resumed) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) interrupted = true;
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        task.beginSegment();
+    }
+
+    private void taskFinished() {
+        if (unfinished.decrementAndGet() == 0 && shutdown) terminate();
+    }
+
+    private void terminate() {
+        if (terminated.getCount() > 0) {
+            carriers.shutdown();
+            terminated.countDown();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (unfinished.get() == 0) terminate();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> neverStarted = new ArrayList<>();
+        for (Task<?> task : ready) {
+            if (task.thread == null && ready.remove(task)) {
+                neverStarted.add(task);
+                taskFinished();
+            }
+        }
+        for (Task<?> task : running) {
+            task.thread.interrupt();
+        }
+        return neverStarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    int parallelism() {
+        return parallelism;
+    }
+
+    // Saturates at Integer.MAX_VALUE: metrics are int columns, and a fine unit such as
+    // NANOSECONDS passes the int range within seconds
+    private int elapsed(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, metricsUnit.convert(nanos - origin, TimeUnit.NANOSECONDS));
+    }
+
+    private synchronized void record(Task<?> task) {
+        int arrival = elapsed(task.submitted);
+        int burst = 0;
+        for (int s = 0; s < task.segmentCount; s++) {
+            burst += elapsed(task.segmentTimes[2 * s + 1]) - elapsed(task.segmentTimes[2 * s]);
+        }
+        int index = completed.size();
+        completed.add(task.id, arrival, burst, task.priority);
+        if (index == completedFinish.length) completedFinish = Arrays.copyOf(completedFinish, index * 2);
+        completedFinish[index] = elapsed(task.segmentTimes[2 * task.segmentCount - 1]);
+
+        int remaining = burst;
+        for (int s = 0; s < task.segmentCount; s++) {
+            int start = elapsed(task.segmentTimes[2 * s]);
+            int end = elapsed(task.segmentTimes[2 * s + 1]);
+            if (segments.size() == segmentRemainingAtStart.length) {
+                segmentRemainingAtStart = Arrays.copyOf(segmentRemainingAtStart, segments.size() * 2);
+            }
+            segmentRemainingAtStart[segments.size()] = remaining;
+            segments.add(task.id, start, end);
+            remaining -= end - start;
+        }
+    }
+
+    // Measured waiting and turnaround of every task completed so far, as a result that
+    // ReportWriter and the Gantt chart accept. Times are in the executor's metrics unit
+    // and task ids number tasks in submission order, starting at 1.
+    synchronized Scheduler.SchedulingResult measuredResult() {
+        ProcessTable workload = ProcessTable.copyOf(completed);
+        int[] finish = Arrays.copyOf(completedFinish, workload.size());
+
+        int[] order = IndexSort.sort(IndexSort.identity(segments.size()), segments::start);
+        ExecutionTimeline timeline = new ExecutionTimeline(preemptive ? "executing" : "completing");
+        GanttEntryList ganttEntries = new GanttEntryList();
+        for (int s : order) {
+            timeline.append(segments.processId(s), segments.start(s), segments.end(s), segmentRemainingAtStart[s]);
+            ganttEntries.add(segments.processId(s), segments.start(s), segments.end(s));
+        }
+
+        String firstProcessInfo = "";
+        if (order.length > 0) {
+            int first = 0;
+            while (workload.id(first) != segments.processId(order[0])) first++;
+            firstProcessInfo = String.format("First Process to Execute: P%d (Priority: %d, Arrival: %d, Burst: %d)",
+                    workload.id(first), workload.priority(first), workload.arrival(first), workload.burst(first));
+        }
+        String title = "Measured " + (preemptive ? "Preemptive" : "Non-Preemptive") + " Priority Scheduling ("
+                + metricsUnit.name().toLowerCase() + ")";
+        return new Scheduler.SchedulingResult(title, workload, finish, workload.byId(), ganttEntries, timeline,
+                firstProcessInfo);
+    }
+
+    // Drops the metrics of completed tasks, e.g. between measurement windows
+    synchronized void resetMetrics() {
+        completed = new ProcessTable();
+        segments = new GanttEntryList();
+    }
+
+    // Ready-set entry ordered like the simulated ready heap: priority, then submission order
+    private final class Task<T> extends FutureTask<T> implements Comparable<Task<?>> {
+        final int priority;
+        final long seq = sequence.getAndIncrement();
+        final int id = (int) seq + 1;
+        final long submitted = System.nanoTime();
+        volatile Thread thread;
+        volatile boolean resumed;
+        // Start and end nanoTime of each stretch the task held a slot
+        long[] segmentTimes = new long[2];
+        int segmentCount;
+
+        Task(Callable<T> callable, int priority) {
+            super(callable);
+            this.priority = priority;
+        }
+
+        PriorityExecutor executor() {
+            return PriorityExecutor.this;
+        }
+
+        void beginSegment() {
+            if (2 * segmentCount == segmentTimes.length) {
+                segmentTimes = Arrays.copyOf(segmentTimes, segmentTimes.length * 2);
+            }
+            segmentTimes[2 * segmentCount] = System.nanoTime();
+        }
+
+        void endSegment() {
+            segmentTimes[2 * segmentCount + 1] = System.nanoTime();
+            segmentCount++;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            // A task cancelled before it started never needs a slot
+            if (cancelled && thread == null && ready.remove(this)) {
+                taskFinished();
+            }
+            return cancelled;
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            if (priority != other.priority) return Integer.compare(priority, other.priority);
+            return Long.compare(seq, other.seq);
+        }
+    }
+}
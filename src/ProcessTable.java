@@ -0,0 +1,161 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Struct-of-arrays process table: one int[] column per attribute instead of one
+// Main.Process object per process. Rows are appended in input order.
+class ProcessTable implements Workload {
+    private int[] ids;
+    private int[] arrivals;
+    private int[] bursts;
+    private int[] priorities;
+    private int[] affinities; // allocated on the first pinned row
+    private int size;
+
+    ProcessTable() {
+        this(16);
+    }
+
+    ProcessTable(int capacity) {
+        capacity = Math.max(1, capacity);
+        ids = new int[capacity];
+        arrivals = new int[capacity];
+        bursts = new int[capacity];
+        priorities = new int[capacity];
+    }
+
+    // Takes the columns as they are, without copying; all must have the same length
+    ProcessTable(int[] ids, int[] arrivals, int[] bursts, int[] priorities) {
+        this.ids = ids;
+        this.arrivals = arrivals;
+        this.bursts = bursts;
+        this.priorities = priorities;
+        this.size = ids.length;
+    }
+
+    static ProcessTable of(List<Main.Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Main.Process p : processes) {
+            table.add(p.id, p.arrival, p.burst, p.priority);
+        }
+        return table;
+    }
+
+    static ProcessTable copyOf(Workload workload) {
+        if (workload instanceof ProcessTable source) {
+            ProcessTable table = new ProcessTable(Arrays.copyOf(source.ids, source.size),
+                    Arrays.copyOf(source.arrivals, source.size), Arrays.copyOf(source.bursts, source.size),
+                    Arrays.copyOf(source.priorities, source.size));
+            if (source.affinities != null) table.affinities = Arrays.copyOf(source.affinities, source.size);
+            return table;
+        }
+        ProcessTable table = new ProcessTable(workload.size());
+        for (int i = 0; i < workload.size(); i++) {
+            table.add(workload.id(i), workload.arrival(i), workload.burst(i), workload.priority(i),
+                    workload.affinity(i));
+        }
+        return table;
+    }
+
+    void add(int id, int arrival, int burst, int priority) {
+        add(id, arrival, burst, priority, -1);
+    }
+
+    // affinity is the CPU the process is pinned to, or -1 to run on any CPU
+    void add(int id, int arrival, int burst, int priority, int affinity) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            arrivals = Arrays.copyOf(arrivals, capacity);
+            bursts = Arrays.copyOf(bursts, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            if (affinities != null) affinities = Arrays.copyOf(affinities, capacity);
+        }
+        if (affinity >= 0 && affinities == null) {
+            affinities = new int[ids.length];
+            Arrays.fill(affinities, -1);
+        }
+        ids[size] = id;
+        arrivals[size] = arrival;
+        bursts[size] = burst;
+        priorities[size] = priority;
+        if (affinities != null) affinities[size] = affinity;
+        size++;
+    }
+
+    // Changes a row's arrival, burst and priority; id and affinity stay
+    void set(int index, int arrival, int burst, int priority) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        arrivals[index] = arrival;
+        bursts[index] = burst;
+        priorities[index] = priority;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int id(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public int arrival(int index) {
+        return arrivals[index];
+    }
+
+    @Override
+    public int burst(int index) {
+        return bursts[index];
+    }
+
+    @Override
+    public int priority(int index) {
+        return priorities[index];
+    }
+
+    @Override
+    public int affinity(int index) {
+        return affinities == null ? -1 : affinities[index];
+    }
+
+    @Override
+    public int[] byArrival() {
+        return IndexSort.sort(IndexSort.identity(size), arrivals);
+    }
+
+    @Override
+    public int[] byPriority() {
+        return IndexSort.sort(IndexSort.identity(size), priorities);
+    }
+
+    @Override
+    public int[] byId() {
+        return IndexSort.sort(IndexSort.identity(size), ids);
+    }
+
+    // Main.Process view of the rows for code that still works with lists
+    List<Main.Process> asProcessList() {
+        return new ProcessList();
+    }
+
+    private class ProcessList extends AbstractList<Main.Process> implements RandomAccess {
+        @Override
+        public Main.Process get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return new Main.Process(ids[index], arrivals[index], bursts[index], priorities[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.Arrays;
+
+// Primitive binary min-heap of ready processes. Each entry packs (priority, rank)
+// into one long, so ordering is a single comparison and nothing is boxed. Ranks
+// are positions in arrival order and break ties between equal priorities.
+class ReadyQueue {
+    private long[] heap;
+    private int size;
+
+    ReadyQueue(int capacity) {
+        heap = new long[Math.max(1, capacity)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int priority, int rank) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        long entry = ((long) priority << 32) | (rank & 0xFFFFFFFFL);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    // Rank of the highest-priority entry
+    int peek() {
+        return (int) heap[0];
+    }
+
+    int poll() {
+        int rank = (int) heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return rank;
+    }
+
+    // Ranks of all queued entries, in no particular order
+    int[] ranks() {
+        int[] ranks = new int[size];
+        for (int i = 0; i < size; i++) {
+            ranks[i] = (int) heap[i];
+        }
+        return ranks;
+    }
+
+    // Hooks for queues whose order changes as time passes (see AgingReadyQueue).
+    // Called with the current time before each peek or poll.
+    void advanceTo(int time) {
+    }
+
+    // Earliest time after the last advanceTo at which the order may change on its own
+    int nextReorderTime() {
+        return Integer.MAX_VALUE;
+    }
+}
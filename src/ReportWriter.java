@@ -0,0 +1,250 @@
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+// Writes the scheduling report incrementally to any Appendable (a StringBuilder,
+// a Writer on a file or stdout, a UI sink). Numbers are formatted by hand instead
+// of through String.format, which dominated the cost of large reports.
+class ReportWriter {
+    private final Appendable out;
+    private final char[] digits = new char[20];
+
+    ReportWriter(Appendable out) {
+        this.out = out;
+    }
+
+    static void write(Appendable out, Scheduler.SchedulingResult result) throws IOException {
+        long start = SchedulerStats.ENABLED ? System.nanoTime() : 0;
+        ReportWriter writer = new ReportWriter(out);
+        out.append(result.title).append("\n\n");
+        writer.writeTimeline(result.executionSteps);
+        out.append('\n');
+        writer.writeSummaries(result);
+        if (SchedulerStats.ENABLED) SchedulerStats.reportWritten(System.nanoTime() - start);
+    }
+
+    // The report without its execution timeline, for views that show the timeline elsewhere
+    static void writeWithoutTimeline(Appendable out, Scheduler.SchedulingResult result) throws IOException {
+        long start = SchedulerStats.ENABLED ? System.nanoTime() : 0;
+        out.append(result.title).append("\n\n");
+        new ReportWriter(out).writeSummaries(result);
+        if (SchedulerStats.ENABLED) SchedulerStats.reportWritten(System.nanoTime() - start);
+    }
+
+    // Completion summary, percentiles, and the CPU and aging summaries when they apply
+    void writeSummaries(Scheduler.SchedulingResult result) throws IOException {
+        writeSummary(result);
+        out.append("\n\n");
+        writeLatencySummary(LatencyStats.of(result));
+        if (result.coreLanes != null) {
+            out.append("\n\n");
+            writeCoreSummary(result);
+        }
+        if (result.aging != null) {
+            out.append("\n\n");
+            writeAgingSummary(result);
+        }
+    }
+
+    void writeTimeline(ExecutionTimeline timeline) throws IOException {
+        out.append("Execution Timeline:\n");
+        repeat('-', 50);
+        out.append('\n');
+        for (int run = 0; run < timeline.runCount(); run++) {
+            int processId = timeline.runProcessId(run);
+            int start = timeline.runStart(run);
+            int remaining = timeline.runRemainingAtStart(run);
+            for (int time = start; time < timeline.runEnd(run); time++) {
+                remaining--;
+                writeStep(time, processId, remaining, remaining == 0);
+            }
+        }
+    }
+
+    // Same text as Scheduler.ExecutionStep.toString()
+    void writeStep(int time, int processId, int remainingTime, boolean isCompletion) throws IOException {
+        out.append("Time ");
+        appendInt(time);
+        out.append(": Process P");
+        appendInt(processId);
+        if (isCompletion) {
+            out.append(" completed\n");
+        } else {
+            out.append(" executing (remaining: ");
+            appendInt(remainingTime);
+            out.append(")\n");
+        }
+    }
+
+    void writeSummary(Scheduler.SchedulingResult result) throws IOException {
+        long totalWaiting = 0, totalTurnaround = 0;
+        int totalExecutionTime = 0;
+
+        out.append("Process Completion Summary:\n");
+        padRight("Process", 12);
+        padRight("Completion Time", 18);
+        padRight("Waiting Time", 18);
+        padRight("Turnaround Time", 18);
+        out.append('\n');
+        repeat('-', 68);
+        out.append('\n');
+
+        for (int index : result.byId) {
+            int finish = result.finish(index);
+            int waiting = result.waiting(index);
+            int turnaround = result.turnaround(index);
+            out.append('P');
+            padRight(appendInt(result.workload.id(index)) + 1, 12);
+            padRight(appendInt(finish), 18);
+            padRight(appendInt(waiting), 18);
+            padRight(appendInt(turnaround), 18);
+            out.append('\n');
+            totalWaiting += waiting;
+            totalTurnaround += turnaround;
+            totalExecutionTime = Math.max(totalExecutionTime, finish);
+        }
+
+        repeat('-', 68);
+        out.append('\n');
+        padRight("Average Waiting Time:", 50);
+        appendTwoDecimals((double) totalWaiting / result.byId.length);
+        out.append('\n');
+        padRight("Average Turnaround Time:", 50);
+        appendTwoDecimals((double) totalTurnaround / result.byId.length);
+        out.append('\n');
+        padRight("Total Execution Time:", 50);
+        appendInt(totalExecutionTime);
+    }
+
+    // Waiting and turnaround percentiles, over all processes and per priority level
+    void writeLatencySummary(LatencyStats stats) throws IOException {
+        writeLatencyTable("Waiting Time Percentiles:\n", stats, 0);
+        out.append("\n\n");
+        writeLatencyTable("Turnaround Time Percentiles:\n", stats, 1);
+    }
+
+    private void writeLatencyTable(String heading, LatencyStats stats, int which) throws IOException {
+        out.append(heading);
+        padRight("Priority", 12);
+        padRight("Count", 12);
+        for (String label : LatencyStats.FRACTION_LABELS) {
+            padRight(label, 11);
+        }
+        out.append("Max\n");
+        repeat('-', 79);
+        out.append('\n');
+        for (Map.Entry<Integer, LatencyHistogram[]> level : stats.byPriority.entrySet()) {
+            padRight(appendInt(level.getKey()), 12);
+            writeLatencyRow(level.getValue()[which]);
+        }
+        repeat('-', 79);
+        out.append('\n');
+        padRight("All", 12);
+        writeLatencyRow(which == 0 ? stats.waiting : stats.turnaround);
+        repeat('-', 79);
+    }
+
+    private void writeLatencyRow(LatencyHistogram histogram) throws IOException {
+        padRight(appendInt(histogram.count()), 12);
+        for (double fraction : LatencyStats.FRACTIONS) {
+            padRight(appendInt(histogram.percentile(fraction)), 11);
+        }
+        appendInt(histogram.max());
+        out.append('\n');
+    }
+
+    void writeCoreSummary(Scheduler.SchedulingResult result) throws IOException {
+        int makespan = result.makespan();
+        out.append("CPU Utilization:\n");
+        repeat('-', 68);
+        out.append('\n');
+        for (int cpu = 0; cpu < result.coreBusyTime.length; cpu++) {
+            out.append("CPU ");
+            padRight(appendInt(cpu) + 4, 50);
+            appendTwoDecimals(makespan == 0 ? 0 : 100.0 * result.coreBusyTime[cpu] / makespan);
+            out.append("%\n");
+        }
+        repeat('-', 68);
+        out.append('\n');
+        padRight("Makespan:", 50);
+        appendInt(makespan);
+        out.append('\n');
+        padRight("Throughput (processes per time unit):", 50);
+        appendTwoDecimals(makespan == 0 ? 0 : (double) result.byId.length / makespan);
+    }
+
+    // Longest wait in each base priority class, to show that aging bounds starvation
+    void writeAgingSummary(Scheduler.SchedulingResult result) throws IOException {
+        Workload workload = result.workload;
+        out.append("Maximum Waiting Time by Priority (aging every ");
+        appendInt(result.aging.interval);
+        out.append(" time units, ceiling ");
+        appendInt(result.aging.ceiling);
+        out.append("):\n");
+        repeat('-', 68);
+        out.append('\n');
+        int[] byPriority = IndexSort.sort(result.byId, workload::priority);
+        for (int start = 0; start < byPriority.length; ) {
+            int priority = workload.priority(byPriority[start]);
+            int maxWaiting = 0;
+            int end = start;
+            while (end < byPriority.length && workload.priority(byPriority[end]) == priority) {
+                maxWaiting = Math.max(maxWaiting, result.waiting(byPriority[end++]));
+            }
+            out.append("Priority ");
+            padRight(appendInt(priority) + 9, 50);
+            appendInt(maxWaiting);
+            out.append('\n');
+            start = end;
+        }
+        repeat('-', 68);
+    }
+
+    // Appends the decimal digits of value and returns how many characters were written
+    int appendInt(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.append("-9223372036854775808");
+            return 20;
+        }
+        boolean negative = value < 0;
+        long remaining = negative ? -value : value;
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (negative) digits[--pos] = '-';
+        for (int i = pos; i < digits.length; i++) {
+            out.append(digits[i]);
+        }
+        return digits.length - pos;
+    }
+
+    // Same digits as String.format("%.2f"): both round the shortest decimal form of the
+    // double half up. Only called a few times per report, so BigDecimal is affordable
+    void appendTwoDecimals(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(String.valueOf(value));
+            return;
+        }
+        out.append(BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString());
+    }
+
+    private void padRight(String text, int width) throws IOException {
+        out.append(text);
+        padRight(text.length(), width);
+    }
+
+    private void padRight(int written, int width) throws IOException {
+        for (int i = written; i < width; i++) {
+            out.append(' ');
+        }
+    }
+
+    private void repeat(char c, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.append(c);
+        }
+    }
+}
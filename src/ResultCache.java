@@ -0,0 +1,400 @@
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+// Recently computed SchedulingResults, keyed by a 128-bit fingerprint of the workload
+// rows plus the scheduling parameters (see key), so re-running an unchanged table or
+// switching back to a policy that was already run skips the simulation.
+//
+// Entries are evicted least recently used first once either the entry count or the
+// estimated heap size goes over its limit. With a directory, every result is also
+// written there as <key>.result and read back on a memory miss, so results survive
+// restarts and are shared between the UI, BatchScheduler and ScenarioSweep. Cache files
+// that cannot be read count as misses, and failing to write one never fails a run.
+//
+// Safe for concurrent use. Two threads missing on the same key both compute it.
+class ResultCache implements ResultCacheMXBean {
+    static final String OBJECT_NAME = "PriorityScheduling:type=ResultCache";
+    static final int DEFAULT_MAX_ENTRIES = 64;
+    static final long DEFAULT_MAX_BYTES = 256L << 20;
+    private static final int FILE_MAGIC = 0x50534348; // "PSCH"
+    private static final int FILE_VERSION = 1;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Path directory;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits, diskHits, misses, evictions;
+
+    private static final class Entry {
+        final Scheduler.SchedulingResult result;
+        final long bytes;
+
+        Entry(Scheduler.SchedulingResult result, long bytes) {
+            this.result = result;
+            this.bytes = bytes;
+        }
+    }
+
+    // directory may be null to keep results in memory only
+    ResultCache(Path directory) {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES, directory);
+    }
+
+    ResultCache(int maxEntries, long maxBytes, Path directory) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("Cache size must be greater than 0");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+    }
+
+    // Publishes the counters through the platform MBean server, replacing any cache
+    // registered before
+    void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+            server.registerMBean(this, name);
+        } catch (Exception e) {
+            System.err.println("Result cache MBean not registered: " + e);
+        }
+    }
+
+    // Cache key of scheduling workload on cpus CPUs; aging and slice may be null. Rows are hashed in input order, since
+    // that order breaks ties between equal arrivals and so is part of the schedule.
+    // Keys contain letters, digits and '-' only and double as file names.
+    static String key(Workload workload, boolean preemptive, int cpus, Scheduler.Aging aging,
+                      Scheduler.TimeSlice slice) {
+        StringBuilder key = new StringBuilder(48);
+        key.append(preemptive ? 'p' : 'n').append(cpus);
+        if (aging != null) key.append('a').append(aging.interval).append('c').append(aging.ceiling);
+        if (slice != null) key.append('q').append(slice.quantum).append(slice.feedback ? "f" : "");
+        key.append('-').append(workload.size()).append('-');
+        long[] fingerprint = fingerprint(workload);
+        for (long h : fingerprint) {
+            String hex = Long.toHexString(h);
+            key.append("0".repeat(16 - hex.length())).append(hex);
+        }
+        return key.toString();
+    }
+
+    // Two independently combined 64-bit hashes over (id, arrival, burst, priority, affinity)
+    static long[] fingerprint(Workload workload) {
+        int n = workload.size();
+        long h1 = 0x243F6A8885A308D3L ^ n;
+        long h2 = 0x13198A2E03707344L + n;
+        for (int i = 0; i < n; i++) {
+            long a = ((long) workload.id(i) << 32) | (workload.arrival(i) & 0xFFFFFFFFL);
+            long b = ((long) workload.burst(i) << 32) | (workload.priority(i) & 0xFFFFFFFFL);
+            long row = mix(a ^ mix(b ^ mix(workload.affinity(i))));
+            h1 = Long.rotateLeft(h1 ^ row, 31) * 0x9E3779B97F4A7C15L;
+            h2 = (h2 + mix(row ^ 0xA4093822299F31D0L)) * 0xC2B2AE3D27D4EB4FL;
+        }
+        return new long[]{mix(h1), mix(h2 ^ h1)};
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Cached result for key, or run's result, which is then cached. workload is the one
+    // the key was computed from; results read from disk are attached to it.
+    Scheduler.SchedulingResult computeIfAbsent(String key, Workload workload,
+                                               Supplier<Scheduler.SchedulingResult> run) {
+        Scheduler.SchedulingResult result = get(key, workload);
+        if (result == null) {
+            result = run.get();
+            put(key, result);
+        }
+        return result;
+    }
+
+    Scheduler.SchedulingResult get(String key, Workload workload) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return entry.result;
+            }
+        }
+        if (directory != null) {
+            Scheduler.SchedulingResult result = read(directory.resolve(key + ".result"), key, workload);
+            if (result != null) {
+                synchronized (this) {
+                    diskHits++;
+                    insert(key, result);
+                }
+                return result;
+            }
+        }
+        synchronized (this) {
+            misses++;
+        }
+        return null;
+    }
+
+    void put(String key, Scheduler.SchedulingResult result) {
+        synchronized (this) {
+            insert(key, result);
+        }
+        if (directory != null) {
+            try {
+                write(directory, key, result);
+            } catch (IOException e) {
+                System.err.println("Result not cached in " + directory + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void insert(String key, Scheduler.SchedulingResult result) {
+        long size = estimatedBytes(result);
+        if (size > maxBytes) return;
+        Entry previous = entries.put(key, new Entry(result, size));
+        if (previous != null) bytes -= previous.bytes;
+        bytes += size;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().bytes;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    // Heap held by a result: its primitive columns plus the workload it keeps alive
+    private static long estimatedBytes(Scheduler.SchedulingResult result) {
+        long size = 28L * result.finish.length;
+        size += 12L * result.ganttEntries.size() + 24L * result.executionSteps.runCount();
+        if (result.coreLanes != null) {
+            for (GanttEntryList lane : result.coreLanes) {
+                size += 12L * lane.size();
+            }
+        }
+        return size + 256;
+    }
+
+    // Cache file: header, strings, then int columns. Written to a temporary file first so
+    // readers never see a partial result.
+    private static void write(Path directory, String key, Scheduler.SchedulingResult result) throws IOException {
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                Output out = new Output(channel);
+                out.putInt(FILE_MAGIC);
+                out.putInt(FILE_VERSION);
+                out.putString(key);
+                out.putString(result.title);
+                out.putString(result.firstProcessInfo);
+                out.putInts(result.finish);
+                out.putInts(result.byId);
+                out.putLane(result.ganttEntries);
+                out.putInt(result.coreLanes == null ? -1 : result.coreLanes.length);
+                if (result.coreLanes != null) {
+                    for (int cpu = 0; cpu < result.coreLanes.length; cpu++) {
+                        out.putLane(result.coreLanes[cpu]);
+                        out.putLong(result.coreBusyTime[cpu]);
+                    }
+                }
+                ExecutionTimeline timeline = result.executionSteps;
+                out.putString(timeline.completionAction());
+                out.putInt(timeline.runCount());
+                for (int run = 0; run < timeline.runCount(); run++) {
+                    out.putInt(timeline.runProcessId(run));
+                    out.putInt(timeline.runStart(run));
+                    out.putInt(timeline.runEnd(run));
+                    out.putInt(timeline.runRemainingAtStart(run));
+                }
+                out.putInt(result.aging == null ? 0 : result.aging.interval);
+                out.putInt(result.aging == null ? 0 : result.aging.ceiling);
+                out.flush();
+            }
+            Files.move(temporary, directory.resolve(key + ".result"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // Result stored for key in file, or null if there is none or it cannot be used
+    private static Scheduler.SchedulingResult read(Path file, String key, Workload workload) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) return null;
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != FILE_MAGIC || in.getInt() != FILE_VERSION || !key.equals(getString(in))) {
+                return null;
+            }
+            String title = getString(in);
+            String firstProcessInfo = getString(in);
+            int[] finish = getInts(in);
+            int[] byId = getInts(in);
+            if (finish.length != workload.size() || byId.length != workload.size()) return null;
+            GanttEntryList ganttEntries = getLane(in);
+
+            int cpus = in.getInt();
+            GanttEntryList[] coreLanes = null;
+            long[] coreBusyTime = null;
+            if (cpus >= 0) {
+                coreLanes = new GanttEntryList[cpus];
+                coreBusyTime = new long[cpus];
+                for (int cpu = 0; cpu < cpus; cpu++) {
+                    coreLanes[cpu] = getLane(in);
+                    coreBusyTime[cpu] = in.getLong();
+                }
+            }
+
+            ExecutionTimeline timeline = new ExecutionTimeline(getString(in));
+            int runs = in.getInt();
+            for (int run = 0; run < runs; run++) {
+                timeline.append(in.getInt(), in.getInt(), in.getInt(), in.getInt());
+            }
+            int agingInterval = in.getInt();
+            int agingCeiling = in.getInt();
+
+            Scheduler.SchedulingResult result = new Scheduler.SchedulingResult(title, workload, finish, byId,
+                    ganttEntries, timeline, firstProcessInfo);
+            result.coreLanes = coreLanes;
+            result.coreBusyTime = coreBusyTime;
+            if (agingInterval > 0) result.aging = new Scheduler.Aging(agingInterval, agingCeiling);
+            return result;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring cached result " + file + ": " + e);
+            return null;
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int[] getInts(ByteBuffer in) {
+        int[] values = new int[in.getInt()];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + 4 * values.length);
+        return values;
+    }
+
+    private static GanttEntryList getLane(ByteBuffer in) {
+        GanttEntryList lane = new GanttEntryList();
+        int size = in.getInt();
+        for (int i = 0; i < size; i++) {
+            lane.add(in.getInt(), in.getInt(), in.getInt());
+        }
+        return lane;
+    }
+
+    // Buffered big-endian writer matching the reads above
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < 8) flush();
+            buffer.putLong(value);
+        }
+
+        void putInts(int[] values) throws IOException {
+            putInt(values.length);
+            for (int value : values) {
+                putInt(value);
+            }
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            for (int offset = 0; offset < bytes.length; ) {
+                if (!buffer.hasRemaining()) flush();
+                int count = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, count);
+                offset += count;
+            }
+        }
+
+        void putLane(GanttEntryList lane) throws IOException {
+            putInt(lane.size());
+            for (int i = 0; i < lane.size(); i++) {
+                putInt(lane.processId(i));
+                putInt(lane.start(i));
+                putInt(lane.end(i));
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long getDiskHits() {
+        return diskHits;
+    }
+
+    @Override
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized int getEntries() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long getEstimatedBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+        hits = diskHits = misses = evictions = 0;
+    }
+}
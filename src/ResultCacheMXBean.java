@@ -0,0 +1,19 @@
+// Management interface of ResultCache, registered as PriorityScheduling:type=ResultCache
+public interface ResultCacheMXBean {
+    // Lookups answered from memory
+    long getHits();
+
+    // Lookups answered from the cache directory after a memory miss
+    long getDiskHits();
+
+    long getMisses();
+
+    long getEvictions();
+
+    int getEntries();
+
+    long getEstimatedBytes();
+
+    // Drops the in-memory entries and zeroes the counters; files in the directory stay
+    void clear();
+}
@@ -0,0 +1,264 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+// Runs a grid of what-if scenarios (seed x process count x load x policy), each as an
+// independent simulation, across a fork-join pool. Every scenario generates its own
+// workload and Scheduler keeps all state per call, so scenarios share nothing.
+//
+// Usage: java ScenarioSweep --processes 1000,100000 --loads 0.5,0.9 --seeds 1-100
+//                           [--policies preemptive,non-preemptive] [--priorities 10]
+//                           [--threads N] [--output sweep.csv] [--cache DIR]
+//
+// --cache keeps every scenario's result in DIR (see ResultCache), so repeating a sweep,
+// or extending one with more seeds, only simulates the scenarios not run before.
+public class ScenarioSweep {
+    static class Scenario {
+        final long seed;
+        final int processCount;
+        final double load;
+        final int priorityLevels;
+        final boolean preemptive;
+
+        Scenario(long seed, int processCount, double load, int priorityLevels, boolean preemptive) {
+            this.seed = seed;
+            this.processCount = processCount;
+            this.load = load;
+            this.priorityLevels = priorityLevels;
+            this.preemptive = preemptive;
+        }
+
+        String policy() {
+            return preemptive ? "preemptive" : "non-preemptive";
+        }
+    }
+
+    static class ScenarioResult {
+        final Scenario scenario;
+        final double averageWaiting, averageTurnaround;
+        final int p50Waiting, p90Waiting, p99Waiting, p999Waiting, maxWaiting;
+        final int p50Turnaround, p90Turnaround, p99Turnaround, p999Turnaround, maxTurnaround;
+        final int makespan;
+
+        // Percentiles come from LatencyStats histograms, so they are within 1/128 of the
+        // exact value above 255 and no per-process array is sorted
+        ScenarioResult(Scenario scenario, Scheduler.SchedulingResult result) {
+            this.scenario = scenario;
+            LatencyStats stats = LatencyStats.of(result);
+            LatencyHistogram waiting = stats.waiting;
+            LatencyHistogram turnaround = stats.turnaround;
+            this.averageWaiting = waiting.mean();
+            this.averageTurnaround = turnaround.mean();
+            this.p50Waiting = waiting.percentile(0.50);
+            this.p90Waiting = waiting.percentile(0.90);
+            this.p99Waiting = waiting.percentile(0.99);
+            this.p999Waiting = waiting.percentile(0.999);
+            this.maxWaiting = waiting.max();
+            this.p50Turnaround = turnaround.percentile(0.50);
+            this.p90Turnaround = turnaround.percentile(0.90);
+            this.p99Turnaround = turnaround.percentile(0.99);
+            this.p999Turnaround = turnaround.percentile(0.999);
+            this.maxTurnaround = turnaround.max();
+            this.makespan = result.makespan();
+        }
+    }
+
+    static List<Scenario> grid(long[] seeds, int[] processCounts, double[] loads, int priorityLevels,
+                               boolean[] policies) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int processCount : processCounts) {
+            for (double load : loads) {
+                for (boolean preemptive : policies) {
+                    for (long seed : seeds) {
+                        scenarios.add(new Scenario(seed, processCount, load, priorityLevels, preemptive));
+                    }
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    // Runs every scenario on a pool of the given parallelism and hands each result to sink
+    // as soon as it is ready. The sink is called from worker threads, one call at a time.
+    // cache may be null.
+    static void run(List<Scenario> scenarios, int parallelism, ResultCache cache, Consumer<ScenarioResult> sink)
+            throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> scenarios.parallelStream()
+                    .map(scenario -> simulate(scenario, cache))
+                    .forEach(result -> {
+                        synchronized (sink) {
+                            sink.accept(result);
+                        }
+                    })).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static ScenarioResult simulate(Scenario scenario, ResultCache cache) {
+        ProcessTable workload = generate(scenario);
+        Scheduler.SchedulingResult result = BatchScheduler.schedule(workload, scenario.preemptive, 1, null, null,
+                cache);
+        return new ScenarioResult(scenario, result);
+    }
+
+    // Uniform arrivals over a span sized so total burst / span matches the target load
+    static ProcessTable generate(Scenario scenario) {
+        SplittableRandom random = new SplittableRandom(scenario.seed);
+        int n = scenario.processCount;
+        int[] bursts = new int[n];
+        long totalBurst = 0;
+        for (int i = 0; i < n; i++) {
+            bursts[i] = 1 + random.nextInt(10);
+            totalBurst += bursts[i];
+        }
+        long span = Math.max(1, Math.min(Integer.MAX_VALUE / 2, (long) (totalBurst / scenario.load)));
+
+        ProcessTable table = new ProcessTable(n);
+        for (int i = 0; i < n; i++) {
+            table.add(i + 1, (int) random.nextLong(span), bursts[i], 1 + random.nextInt(scenario.priorityLevels));
+        }
+        return table;
+    }
+
+    static void writeHeader(Appendable out) throws IOException {
+        out.append("seed,processes,load,policy,avg_waiting,p50_waiting,p90_waiting,p99_waiting,p999_waiting,"
+                + "max_waiting,avg_turnaround,p50_turnaround,p90_turnaround,p99_turnaround,p999_turnaround,"
+                + "max_turnaround,makespan\n");
+    }
+
+    static void writeRow(Appendable out, ScenarioResult r) throws IOException {
+        ReportWriter writer = new ReportWriter(out);
+        Scenario s = r.scenario;
+        writer.appendInt(s.seed);
+        out.append(',');
+        writer.appendInt(s.processCount);
+        out.append(',').append(String.valueOf(s.load)).append(',').append(s.policy()).append(',');
+        writer.appendTwoDecimals(r.averageWaiting);
+        for (int value : new int[]{r.p50Waiting, r.p90Waiting, r.p99Waiting, r.p999Waiting, r.maxWaiting}) {
+            out.append(',');
+            writer.appendInt(value);
+        }
+        out.append(',');
+        writer.appendTwoDecimals(r.averageTurnaround);
+        for (int value : new int[]{r.p50Turnaround, r.p90Turnaround, r.p99Turnaround, r.p999Turnaround,
+                r.maxTurnaround, r.makespan}) {
+            out.append(',');
+            writer.appendInt(value);
+        }
+        out.append('\n');
+    }
+
+    public static void main(String[] args) {
+        int[] processCounts = {1000};
+        double[] loads = {0.9};
+        long[] seeds = {1};
+        boolean[] policies = {true, false};
+        int priorityLevels = 10;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path output = null;
+        Path cacheDir = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                if (value == null) throw new IllegalArgumentException("Missing value for " + args[i]);
+                switch (args[i++]) {
+                    case "--processes" -> processCounts = Arrays.stream(value.split(","))
+                            .mapToInt(Integer::parseInt).toArray();
+                    case "--loads" -> loads = Arrays.stream(value.split(","))
+                            .mapToDouble(Double::parseDouble).toArray();
+                    case "--seeds" -> seeds = parseSeeds(value);
+                    case "--policies" -> policies = parsePolicies(value);
+                    case "--priorities" -> priorityLevels = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--output" -> output = Path.of(value);
+                    case "--cache" -> cacheDir = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i - 1]);
+                }
+            }
+            if (priorityLevels <= 0 || threads <= 0) {
+                throw new IllegalArgumentException("--priorities and --threads must be positive");
+            }
+            for (int processCount : processCounts) {
+                if (processCount <= 0) throw new IllegalArgumentException("Process counts must be greater than 0");
+            }
+            for (double load : loads) {
+                if (load <= 0) throw new IllegalArgumentException("Loads must be greater than 0");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java ScenarioSweep --processes 1000,100000 --loads 0.5,0.9 --seeds 1-100 "
+                    + "[--policies preemptive,non-preemptive] [--priorities 10] [--threads N] [--output sweep.csv] "
+                    + "[--cache DIR]");
+            System.exit(2);
+            return;
+        }
+
+        List<Scenario> scenarios = grid(seeds, processCounts, loads, priorityLevels, policies);
+        ResultCache cache = cacheDir == null ? null : new ResultCache(cacheDir);
+        try (Writer out = output == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writeHeader(out);
+            run(scenarios, threads, cache, result -> {
+                try {
+                    writeRow(out, result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    // Accepts "7", "1,2,3" or a range such as "1-100"
+    private static long[] parseSeeds(String value) {
+        int dash = value.indexOf('-', 1);
+        if (dash > 0 && !value.contains(",")) {
+            long first = Long.parseLong(value.substring(0, dash));
+            long last = Long.parseLong(value.substring(dash + 1));
+            if (last < first) throw new IllegalArgumentException("Empty seed range: " + value);
+            long[] seeds = new long[(int) (last - first + 1)];
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = first + i;
+            }
+            return seeds;
+        }
+        return Arrays.stream(value.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+
+    private static boolean[] parsePolicies(String value) {
+        String[] names = value.split(",");
+        boolean[] policies = new boolean[names.length];
+        for (int i = 0; i < names.length; i++) {
+            switch (names[i]) {
+                case "preemptive" -> policies[i] = true;
+                case "non-preemptive" -> policies[i] = false;
+                default -> throw new IllegalArgumentException("Unknown policy: " + names[i]);
+            }
+        }
+        return policies;
+    }
+}
@@ -1,23 +1,207 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 class Scheduler {
     static class SchedulingResult {
-        String output;
-        List<GanttChartPanel.GanttEntry> ganttEntries;
-        List<ExecutionStep> executionSteps;
+        String title;
+        Workload workload;
+        int[] finish;
+        int[] byId;
+        GanttEntryList ganttEntries;
+        ExecutionTimeline executionSteps;
         String firstProcessInfo;
+        // Multi-CPU runs only: one Gantt lane and busy time per CPU
+        GanttEntryList[] coreLanes;
+        long[] coreBusyTime;
+        // Runs with aging only
+        Aging aging;
 
-        SchedulingResult(String output, List<GanttChartPanel.GanttEntry> ganttEntries,
-                         List<ExecutionStep> executionSteps, String firstProcessInfo) {
-            this.output = output;
+        SchedulingResult(String title, Workload workload, int[] finish, int[] byId,
+                         GanttEntryList ganttEntries,
+                         ExecutionTimeline executionSteps, String firstProcessInfo) {
+            this.title = title;
+            this.workload = workload;
+            this.finish = finish;
+            this.byId = byId;
             this.ganttEntries = ganttEntries;
             this.executionSteps = executionSteps;
             this.firstProcessInfo = firstProcessInfo;
         }
+
+        int cpuCount() {
+            return coreLanes == null ? 1 : coreLanes.length;
+        }
+
+        // Latest finish time over all processes
+        int makespan() {
+            int makespan = 0;
+            for (int f : finish) {
+                makespan = Math.max(makespan, f);
+            }
+            return makespan;
+        }
+
+        // Per-process statistics, indexed like the workload
+        int finish(int index) {
+            return finish[index];
+        }
+
+        int turnaround(int index) {
+            return finish[index] - workload.arrival(index);
+        }
+
+        int waiting(int index) {
+            return turnaround(index) - workload.burst(index);
+        }
+
+        // Main.Process view of the results in id order, with finish/waiting/turnaround filled in
+        List<Main.Process> processes() {
+            List<Main.Process> processes = new ArrayList<>(byId.length);
+            for (int index : byId) {
+                Main.Process p = new Main.Process(workload.id(index), workload.arrival(index),
+                        workload.burst(index), workload.priority(index));
+                p.remaining = 0;
+                p.finish = finish(index);
+                p.waiting = waiting(index);
+                p.turnaround = turnaround(index);
+                processes.add(p);
+            }
+            return processes;
+        }
+
+        // Streams the full report (timeline and completion summary) to out
+        void writeReport(Appendable out) throws IOException {
+            ReportWriter.write(out, this);
+        }
+
+        // Renders the report on demand; nothing is formatted until someone asks
+        String output() {
+            StringBuilder sb = new StringBuilder();
+            try {
+                writeReport(sb);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return sb.toString();
+        }
+
+        // The report without the per-tick execution timeline, which can run to millions
+        // of lines; the UI shows the timeline in ExecutionTimelinePanel instead
+        String summaryOutput() {
+            StringBuilder sb = new StringBuilder();
+            try {
+                ReportWriter.writeWithoutTimeline(sb, this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return sb.toString();
+        }
     }
 
+    // Aging settings: a waiting process gains one priority level every `interval` time
+    // units since its arrival, up to `ceiling` (see AgingReadyQueue)
+    static class Aging {
+        final int interval;
+        final int ceiling;
+
+        Aging(int interval, int ceiling) {
+            if (interval <= 0) throw new IllegalArgumentException("Aging interval must be greater than 0");
+            if (ceiling <= 0) throw new IllegalArgumentException("Aging ceiling must be greater than 0");
+            this.interval = interval;
+            this.ceiling = ceiling;
+        }
+    }
+
+    // Time slicing within a priority level (see BucketReadyQueue): round robin with the
+    // given quantum, or with feedback a multilevel feedback queue whose slices double with
+    // every level a process drops
+    static class TimeSlice {
+        final int quantum;
+        final boolean feedback;
+
+        TimeSlice(int quantum, boolean feedback) {
+            if (quantum <= 0) throw new IllegalArgumentException("Quantum must be greater than 0");
+            this.quantum = quantum;
+            this.feedback = feedback;
+        }
+    }
+
+    // Watches a run from the scheduling thread. Called after every completion with the
+    // Gantt lanes built so far (a single lane unless several CPUs are simulated).
+    // Returning false stops the run with a CancellationException.
+    interface RunMonitor {
+        boolean completed(int time, int completedCount, GanttEntryList[] lanes);
+    }
+
+    // Single-CPU loop state at the top of an iteration, from which IncrementalScheduler
+    // resumes a run: the ready queue as arrival ranks, with the remaining time of each
+    // (preemptive runs), and how far the Gantt entries and timeline had got
+    static final class Checkpoint {
+        static final Checkpoint START = new Checkpoint(0, 0, 0, -1, -1, 0, false, new int[0], new int[0], 0, 0, 0);
+
+        final int time, arrived, completedCount;
+        // Preemptive runs: last process run and the Gantt bar still open for it
+        final int current, lastProcessId, startTime;
+        final boolean firstProcessFound;
+        final int[] queued;
+        final int[] queuedRemaining;
+        final int ganttSize, timelineRuns, timelineLastEnd;
+
+        Checkpoint(int time, int arrived, int completedCount, int current, int lastProcessId, int startTime,
+                   boolean firstProcessFound, int[] queued, int[] queuedRemaining,
+                   int ganttSize, int timelineRuns, int timelineLastEnd) {
+            this.time = time;
+            this.arrived = arrived;
+            this.completedCount = completedCount;
+            this.current = current;
+            this.lastProcessId = lastProcessId;
+            this.startTime = startTime;
+            this.firstProcessFound = firstProcessFound;
+            this.queued = queued;
+            this.queuedRemaining = queuedRemaining;
+            this.ganttSize = ganttSize;
+            this.timelineRuns = timelineRuns;
+            this.timelineLastEnd = timelineLastEnd;
+        }
+    }
+
+    // A run resumed from a checkpoint: the workload's arrival order, the results up to the
+    // checkpoint, which the run extends in place, and the list the run adds its own
+    // checkpoints to. byId may be null to sort the workload for it; completed (process
+    // indices in completion order) is only used by non-preemptive runs.
+    static final class Resume {
+        final Checkpoint from;
+        final int[] byArrival;
+        final int[] byId;
+        final int[] finish;
+        final int[] completed;
+        final GanttEntryList ganttEntries;
+        final ExecutionTimeline timeline;
+        final String firstProcessInfo;
+        final List<Checkpoint> checkpoints;
+
+        Resume(Checkpoint from, int[] byArrival, int[] byId, int[] finish, int[] completed,
+               GanttEntryList ganttEntries, ExecutionTimeline timeline, String firstProcessInfo,
+               List<Checkpoint> checkpoints) {
+            this.from = from;
+            this.byArrival = byArrival;
+            this.byId = byId;
+            this.finish = finish;
+            this.completed = completed;
+            this.ganttEntries = ganttEntries;
+            this.timeline = timeline;
+            this.firstProcessInfo = firstProcessInfo;
+            this.checkpoints = checkpoints;
+        }
+    }
+
+    // Checkpoints are taken once this many processes, or as many as are queued if that is
+    // more, have completed since the last one, so together they hold O(n) queue entries
+    private static final int CHECKPOINT_SPACING = 1024;
+
     static class ExecutionStep {
         int time;
         int processId;
@@ -45,158 +229,324 @@ class Scheduler {
     }
 
     public static SchedulingResult runNonPreemptive(List<Main.Process> input) {
-        List<Main.Process> processes = new ArrayList<>(input);
-        List<GanttChartPanel.GanttEntry> ganttEntries = new ArrayList<>();
-        List<ExecutionStep> executionSteps = new ArrayList<>();
-        StringBuilder sb = new StringBuilder("Non-Preemptive Priority Scheduling\n\n");
-
-        processes.sort(Comparator.comparingInt(p -> p.arrival));
-        int time = 0;
-        List<Main.Process> completed = new ArrayList<>();
-        String firstProcessInfo = "";
-        boolean firstProcessFound = false;
-
-        while (!processes.isEmpty()) {
-            List<Main.Process> available = new ArrayList<>();
-            for (Main.Process p : processes) {
-                if (p.arrival <= time) available.add(p);
-            }
-            if (available.isEmpty()) {
-                time++;
+        return runNonPreemptive(ProcessTable.of(input));
+    }
+
+    public static SchedulingResult runNonPreemptive(Workload workload) {
+        return runNonPreemptive(workload, null);
+    }
+
+    // aging may be null to schedule by plain priority
+    public static SchedulingResult runNonPreemptive(Workload workload, Aging aging) {
+        return runNonPreemptive(workload, aging, null);
+    }
+
+    // monitor may be null
+    public static SchedulingResult runNonPreemptive(Workload workload, Aging aging, RunMonitor monitor) {
+        return runNonPreemptive(workload, aging, monitor, null);
+    }
+
+    // Resumes a run from resume.from (see IncrementalScheduler). aging and monitor may be null.
+    static SchedulingResult resumeNonPreemptive(Workload workload, Aging aging, RunMonitor monitor, Resume resume) {
+        return runNonPreemptive(workload, aging, monitor, resume);
+    }
+
+    private static SchedulingResult runNonPreemptive(Workload workload, Aging aging, RunMonitor monitor,
+                                                     Resume resume) {
+        String title = "Non-Preemptive Priority Scheduling" + titleSuffix(aging);
+        int n = workload.size();
+        SchedulerStats.Run stats = SchedulerStats.ENABLED ? SchedulerStats.start(title, n) : null;
+        int[] byArrival = resume == null ? workload.byArrival() : resume.byArrival;
+        if (SchedulerStats.ENABLED) stats.sortDone();
+        int[] finish = resume == null ? new int[n] : resume.finish;
+        int[] completed = resume == null ? new int[n] : resume.completed;
+        GanttEntryList ganttEntries = resume == null ? new GanttEntryList() : resume.ganttEntries;
+        ExecutionTimeline timeline = resume == null ? new ExecutionTimeline("completing") : resume.timeline;
+        GanttEntryList[] lanes = {ganttEntries};
+        Checkpoint from = resume == null ? Checkpoint.START : resume.from;
+        List<Checkpoint> checkpoints = resume == null ? null : resume.checkpoints;
+
+        ReadyQueue readyQueue = readyQueue(resume == null ? n : restoredCapacity(from), aging, null, workload,
+                byArrival);
+        restore(readyQueue, from, workload, byArrival, null);
+        int time = from.time;
+        int nextArrival = from.arrived;
+        int completedCount = from.completedCount;
+        String firstProcessInfo = resume == null ? "" : resume.firstProcessInfo;
+        boolean firstProcessFound = from.firstProcessFound;
+        // Whether a process finished at time with no idle gap since, for the switch count
+        boolean justFinished = false;
+        int sinceCheckpoint = 0;
+
+        while (completedCount < n) {
+            if (checkpoints != null && checkpointDue(sinceCheckpoint, readyQueue)) {
+                checkpoints.add(new Checkpoint(time, nextArrival, completedCount, -1, -1, 0, firstProcessFound,
+                        readyQueue.ranks(), null, ganttEntries.size(), timeline.runCount(), lastEnd(timeline)));
+                sinceCheckpoint = 0;
+            }
+
+            while (nextArrival < n && workload.arrival(byArrival[nextArrival]) <= time) {
+                readyQueue.add(workload.priority(byArrival[nextArrival]), nextArrival++);
+            }
+            readyQueue.advanceTo(time);
+
+            // CPU idle: jump straight to the next arrival
+            if (readyQueue.isEmpty()) {
+                if (SchedulerStats.ENABLED) stats.idle(workload.arrival(byArrival[nextArrival]) - time);
+                time = workload.arrival(byArrival[nextArrival]);
+                justFinished = false;
                 continue;
             }
 
-            available.sort(Comparator.comparingInt(p -> p.priority));
-            Main.Process current = available.get(0);
+            if (SchedulerStats.ENABLED) {
+                stats.decision(readyQueue.size());
+                if (justFinished) stats.switched(false);
+                stats.ran(readyQueue.size(), workload.burst(byArrival[readyQueue.peek()]));
+            }
+            int current = byArrival[readyQueue.poll()];
+            int id = workload.id(current);
+            int burst = workload.burst(current);
 
             // Track first process to execute
             if (!firstProcessFound) {
-                firstProcessInfo = String.format("First Process to Execute: P%d (Priority: %d, Arrival: %d, Burst: %d)",
-                        current.id, current.priority, current.arrival, current.burst);
+                firstProcessInfo = firstProcessInfo(workload, current);
                 firstProcessFound = true;
             }
 
-            ganttEntries.add(new GanttChartPanel.GanttEntry(current.id, time, time + current.burst));
-
-            // Add execution steps for each time unit
-            for (int i = 0; i < current.burst; i++) {
-                int remainingTime = current.burst - i - 1;
-                boolean isLastStep = (i == current.burst - 1);
-                executionSteps.add(new ExecutionStep(time + i, current.id, remainingTime,
-                        isLastStep ? "completing" : "executing", isLastStep));
-            }
+            ganttEntries.add(id, time, time + burst);
+            timeline.append(id, time, time + burst, burst);
 
-            time += current.burst;
-            current.finish = time;
-            current.turnaround = time - current.arrival;
-            current.waiting = current.turnaround - current.burst;
-            completed.add(current);
-            processes.remove(current);
+            time += burst;
+            finish[current] = time;
+            completed[completedCount++] = current;
+            justFinished = true;
+            sinceCheckpoint++;
+            notify(monitor, time, completedCount, lanes);
         }
 
-        return new SchedulingResult(generateOutput(completed, sb, executionSteps), ganttEntries,
-                executionSteps, firstProcessInfo);
+        if (SchedulerStats.ENABLED) stats.simulateDone();
+
+        // Processes sharing an id are listed in completion order
+        int[] byId = IndexSort.sort(completed, workload::id);
+        if (SchedulerStats.ENABLED) {
+            stats.sortDone();
+            stats.finish(time);
+        }
+        SchedulingResult result = new SchedulingResult(title, workload, finish, byId, ganttEntries, timeline,
+                firstProcessInfo);
+        result.aging = aging;
+        return result;
     }
 
     public static SchedulingResult runPreemptive(List<Main.Process> input) {
-        List<Main.Process> processes = new ArrayList<>();
-        for (Main.Process p : input) {
-            processes.add(new Main.Process(p.id, p.arrival, p.burst, p.priority));
-        }
-        List<GanttChartPanel.GanttEntry> ganttEntries = new ArrayList<>();
-        List<ExecutionStep> executionSteps = new ArrayList<>();
-        StringBuilder sb = new StringBuilder("Preemptive Priority Scheduling\n\n");
-
-        int time = 0;
-        int completedCount = 0;
-        Main.Process current = null;
-        List<Main.Process> readyQueue = new ArrayList<>();
-        int lastProcessId = -1;
-        int startTime = 0;
-        String firstProcessInfo = "";
-        boolean firstProcessFound = false;
-
-        while (completedCount < processes.size()) {
+        return runPreemptive(ProcessTable.of(input));
+    }
+
+    public static SchedulingResult runPreemptive(Workload workload) {
+        return runPreemptive(workload, null);
+    }
+
+    // aging may be null to schedule by plain priority
+    public static SchedulingResult runPreemptive(Workload workload, Aging aging) {
+        return runPreemptive(workload, aging, null);
+    }
+
+    // monitor may be null
+    public static SchedulingResult runPreemptive(Workload workload, Aging aging, RunMonitor monitor) {
+        return runPreemptive(workload, preemptiveTitle(aging), aging, null, monitor, null);
+    }
+
+    // Resumes a run from resume.from (see IncrementalScheduler). aging and monitor may be null.
+    static SchedulingResult resumePreemptive(Workload workload, Aging aging, RunMonitor monitor, Resume resume) {
+        return runPreemptive(workload, preemptiveTitle(aging), aging, null, monitor, resume);
+    }
+
+    // Preemptive scheduling that also shares the CPU between processes of equal priority.
+    // Priorities must span at most BucketReadyQueue.MAX_LEVELS levels. monitor may be null.
+    public static SchedulingResult runTimeSliced(Workload workload, TimeSlice slice, RunMonitor monitor) {
+        String title = (slice.feedback ? "Multilevel Feedback" : "Round-Robin") + " Priority Scheduling (quantum "
+                + slice.quantum + ")";
+        return runPreemptive(workload, title, null, slice, monitor, null);
+    }
+
+    // Time slicing state is not checkpointed, so resume needs slice to be null
+    private static SchedulingResult runPreemptive(Workload workload, String title, Aging aging, TimeSlice slice,
+                                                  RunMonitor monitor, Resume resume) {
+        int n = workload.size();
+        SchedulerStats.Run stats = SchedulerStats.ENABLED ? SchedulerStats.start(title, n) : null;
+        int[] byArrival = resume == null ? workload.byArrival() : resume.byArrival;
+        if (SchedulerStats.ENABLED) stats.sortDone();
+        int[] remaining = new int[n];
+        int[] finish = resume == null ? new int[n] : resume.finish;
+        GanttEntryList ganttEntries = resume == null ? new GanttEntryList() : resume.ganttEntries;
+        ExecutionTimeline timeline = resume == null ? new ExecutionTimeline("executing") : resume.timeline;
+        GanttEntryList[] lanes = {ganttEntries};
+        Checkpoint from = resume == null ? Checkpoint.START : resume.from;
+        List<Checkpoint> checkpoints = resume == null ? null : resume.checkpoints;
+        ReadyQueue readyQueue = readyQueue(resume == null ? n : restoredCapacity(from), aging, slice, workload,
+                byArrival);
+        restore(readyQueue, from, workload, byArrival, remaining);
+
+        int time = from.time;
+        int nextArrival = from.arrived;
+        int completedCount = from.completedCount;
+        int current = from.current;
+        int lastProcessId = from.lastProcessId;
+        int startTime = from.startTime;
+        String firstProcessInfo = resume == null ? "" : resume.firstProcessInfo;
+        boolean firstProcessFound = from.firstProcessFound;
+        int sinceCheckpoint = 0;
+
+        while (completedCount < n) {
+            if (checkpoints != null && checkpointDue(sinceCheckpoint, readyQueue)) {
+                int[] queued = readyQueue.ranks();
+                int[] queuedRemaining = new int[queued.length];
+                for (int i = 0; i < queued.length; i++) {
+                    queuedRemaining[i] = remaining[byArrival[queued[i]]];
+                }
+                checkpoints.add(new Checkpoint(time, nextArrival, completedCount, current, lastProcessId, startTime,
+                        firstProcessFound, queued, queuedRemaining, ganttEntries.size(), timeline.runCount(),
+                        lastEnd(timeline)));
+                sinceCheckpoint = 0;
+            }
+
             // Add newly arrived processes to ready queue
-            for (Main.Process p : processes) {
-                if (p.arrival == time) readyQueue.add(p);
+            while (nextArrival < n && workload.arrival(byArrival[nextArrival]) <= time) {
+                int arrived = byArrival[nextArrival];
+                remaining[arrived] = workload.burst(arrived);
+                readyQueue.add(workload.priority(arrived), nextArrival++);
+            }
+            readyQueue.advanceTo(time);
+
+            // CPU idle: jump straight to the next arrival. The last process has finished,
+            // so nothing is left to close in the Gantt chart
+            if (readyQueue.isEmpty()) {
+                if (SchedulerStats.ENABLED) stats.idle(workload.arrival(byArrival[nextArrival]) - time);
+                time = workload.arrival(byArrival[nextArrival]);
+                current = -1;
+                continue;
             }
-            readyQueue.sort(Comparator.comparingInt(p -> p.priority));
 
-            if (!readyQueue.isEmpty()) {
-                Main.Process next = readyQueue.get(0);
+            int next = byArrival[readyQueue.peek()];
+            if (SchedulerStats.ENABLED) {
+                stats.decision(readyQueue.size());
+                // current names the last process run, finished or not, unless the CPU has
+                // been idle since
+                if (current != -1 && current != next) stats.switched(remaining[current] > 0);
+            }
 
-                // Handle process switching
-                if (current != next && current != null && lastProcessId != -1) {
-                    ganttEntries.add(new GanttChartPanel.GanttEntry(lastProcessId, startTime, time));
-                }
+            // Handle process switching
+            if (current != next && current != -1 && lastProcessId != -1) {
+                ganttEntries.add(lastProcessId, startTime, time);
+            }
 
-                current = next;
+            current = next;
+            int id = workload.id(current);
 
-                // Track first process to execute
-                if (!firstProcessFound) {
-                    firstProcessInfo = String.format("First Process to Execute: P%d (Priority: %d, Arrival: %d, Burst: %d)",
-                            current.id, current.priority, current.arrival, current.burst);
-                    firstProcessFound = true;
-                }
+            // Track first process to execute
+            if (!firstProcessFound) {
+                firstProcessInfo = firstProcessInfo(workload, current);
+                firstProcessFound = true;
+            }
 
-                if (lastProcessId != current.id) {
-                    lastProcessId = current.id;
-                    startTime = time;
-                }
+            if (lastProcessId != id) {
+                lastProcessId = id;
+                startTime = time;
+            }
 
-                // Execute current process for one time unit
-                current.remaining--;
-                executionSteps.add(new ExecutionStep(time, current.id, current.remaining,
-                        "executing", current.remaining == 0));
-
-                if (current.remaining == 0) {
-                    current.finish = time + 1;
-                    current.turnaround = current.finish - current.arrival;
-                    current.waiting = current.turnaround - current.burst;
-                    ganttEntries.add(new GanttChartPanel.GanttEntry(current.id, startTime, time + 1));
-                    readyQueue.remove(current);
-                    completedCount++;
-                    lastProcessId = -1;
-                }
+            // Run until the process completes or the next arrival could preempt it
+            int runUntil = time + remaining[current];
+            if (nextArrival < n && workload.arrival(byArrival[nextArrival]) < runUntil) {
+                runUntil = workload.arrival(byArrival[nextArrival]);
+            }
+            runUntil = Math.min(runUntil, readyQueue.nextReorderTime());
+            if (SchedulerStats.ENABLED) stats.ran(readyQueue.size(), runUntil - time);
+            timeline.append(id, time, runUntil, remaining[current]);
+            remaining[current] -= runUntil - time;
+            time = runUntil;
+
+            if (remaining[current] == 0) {
+                finish[current] = time;
+                ganttEntries.add(id, startTime, time);
+                readyQueue.poll();
+                completedCount++;
+                sinceCheckpoint++;
+                lastProcessId = -1;
+                notify(monitor, time, completedCount, lanes);
             }
-            time++;
         }
 
-        return new SchedulingResult(generateOutput(processes, sb, executionSteps), ganttEntries,
-                executionSteps, firstProcessInfo);
+        if (SchedulerStats.ENABLED) stats.simulateDone();
+
+        int[] byId = resume != null && resume.byId != null ? resume.byId : workload.byId();
+        if (SchedulerStats.ENABLED) {
+            stats.sortDone();
+            stats.finish(time);
+        }
+        SchedulingResult result = new SchedulingResult(title, workload, finish, byId, ganttEntries, timeline,
+                firstProcessInfo);
+        result.aging = aging;
+        return result;
     }
 
-    private static String generateOutput(List<Main.Process> processes, StringBuilder sb,
-                                         List<ExecutionStep> executionSteps) {
-        double totalWaiting = 0, totalTurnaround = 0;
+    static void notify(RunMonitor monitor, int time, int completedCount, GanttEntryList[] lanes) {
+        if (monitor != null && !monitor.completed(time, completedCount, lanes)) {
+            throw new CancellationException("Scheduling cancelled");
+        }
+    }
 
-        // Add execution timeline
-        sb.append("Execution Timeline:\n");
-        sb.append("-".repeat(50)).append("\n");
-        for (ExecutionStep step : executionSteps) {
-            sb.append(step.toString()).append("\n");
+    // capacity is only a starting size; every queue grows as needed
+    private static ReadyQueue readyQueue(int capacity, Aging aging, TimeSlice slice, Workload workload,
+                                         int[] byArrival) {
+        if (aging != null) return new AgingReadyQueue(capacity, aging, workload, byArrival);
+        int n = workload.size();
+        if (n == 0) return new ReadyQueue(capacity);
+        // Priorities usually span a small range, which the O(1) bucket queue handles; the
+        // heap takes the rest. Time slicing needs the buckets and rejects wider ranges.
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, workload.priority(i));
+            max = Math.max(max, workload.priority(i));
         }
-        sb.append("\n");
+        if (slice == null && (long) max - min >= BucketReadyQueue.MAX_LEVELS) return new ReadyQueue(capacity);
+        return new BucketReadyQueue(capacity, min, max, slice);
+    }
 
-        // Add process completion summary
-        sb.append("Process Completion Summary:\n");
-        sb.append(String.format("%-12s%-18s%-18s%-18s\n", "Process", "Completion Time", "Waiting Time", "Turnaround Time"));
-        sb.append("-".repeat(68)).append("\n");
+    // A resumed queue only starts with the checkpoint's entries
+    private static int restoredCapacity(Checkpoint from) {
+        return Math.max(16, 2 * from.queued.length);
+    }
 
-        processes.sort(Comparator.comparingInt(p -> p.id));
-        for (Main.Process p : processes) {
-            sb.append(String.format("%-12s%-18d%-18d%-18d\n", "P" + p.id, p.finish, p.waiting, p.turnaround));
-            totalWaiting += p.waiting;
-            totalTurnaround += p.turnaround;
+    // Queues the checkpoint's entries in the order ranks() gave them, which keeps FIFO
+    // levels in order. remaining may be null for non-preemptive runs.
+    private static void restore(ReadyQueue readyQueue, Checkpoint from, Workload workload, int[] byArrival,
+                                int[] remaining) {
+        for (int i = 0; i < from.queued.length; i++) {
+            int rank = from.queued[i];
+            if (remaining != null) remaining[byArrival[rank]] = from.queuedRemaining[i];
+            readyQueue.add(workload.priority(byArrival[rank]), rank);
         }
+    }
 
-        sb.append("-".repeat(68)).append("\n");
-        sb.append(String.format("%-50s%.2f\n", "Average Waiting Time:", totalWaiting / processes.size()));
-        sb.append(String.format("%-50s%.2f\n", "Average Turnaround Time:", totalTurnaround / processes.size()));
-        sb.append(String.format("%-50s%d", "Total Execution Time:",
-                processes.stream().mapToInt(p -> p.finish).max().orElse(0)));
+    private static boolean checkpointDue(int completedSinceCheckpoint, ReadyQueue readyQueue) {
+        return completedSinceCheckpoint >= Math.max(CHECKPOINT_SPACING, readyQueue.size());
+    }
+
+    private static int lastEnd(ExecutionTimeline timeline) {
+        int runs = timeline.runCount();
+        return runs > 0 ? timeline.runEnd(runs - 1) : 0;
+    }
+
+    private static String preemptiveTitle(Aging aging) {
+        return "Preemptive Priority Scheduling" + titleSuffix(aging);
+    }
+
+    private static String titleSuffix(Aging aging) {
+        return aging == null ? "" : " with Aging";
+    }
 
-        return sb.toString();
+    private static String firstProcessInfo(Workload workload, int index) {
+        return String.format("First Process to Execute: P%d (Priority: %d, Arrival: %d, Burst: %d)",
+                workload.id(index), workload.priority(index), workload.arrival(index), workload.burst(index));
     }
-}
\ No newline at end of file
+}
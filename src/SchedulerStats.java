@@ -0,0 +1,261 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+// Counters recorded during single-CPU Scheduler runs, published through the platform MBean server
+// (SchedulerStatsMXBean) and, while a JFR recording has it enabled, as one
+// scheduler.Run event per run.
+//
+// Off unless the JVM starts with -Dscheduler.stats=true. ENABLED is a static final
+// constant, so with stats off the JIT drops every `if (SchedulerStats.ENABLED)` block
+// and the scheduling loops run exactly as before.
+class SchedulerStats implements SchedulerStatsMXBean {
+    static final boolean ENABLED = Boolean.getBoolean("scheduler.stats");
+    static final String OBJECT_NAME = "PriorityScheduling:type=SchedulerStats";
+    private static final int HISTOGRAM_BUCKETS = 33;
+
+    private static final SchedulerStats INSTANCE = new SchedulerStats();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (Exception e) {
+                System.err.println("Scheduler stats MBean not registered: " + e);
+            }
+        }
+    }
+
+    private long runs, decisions, contextSwitches, preemptions, idleTicks, simulatedTicks;
+    private long depthTime;
+    private int maxQueueDepth;
+    private final long[] queueDepthHistogram = new long[HISTOGRAM_BUCKETS];
+    private long sortNanos, simulateNanos, reportNanos;
+    private long allocatedBytes, lastRunAllocatedBytes;
+
+    // Starts recording one run on the calling thread; call only when ENABLED
+    static Run start(String policy, int processCount) {
+        return new Run(policy, processCount);
+    }
+
+    // Time spent writing a report, which happens after the run itself
+    static void reportWritten(long nanos) {
+        synchronized (INSTANCE) {
+            INSTANCE.reportNanos += nanos;
+        }
+    }
+
+    // Counters of one run, kept by the scheduling thread and published once at the end
+    static final class Run {
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+        private final RunEvent event = new RunEvent();
+        private final long startAllocated = allocatedBytes();
+        private long phaseStart = System.nanoTime();
+        private long decisions, contextSwitches, preemptions, idleTicks;
+        private long depthTime;
+        private int maxQueueDepth;
+        private final long[] queueDepthHistogram = new long[HISTOGRAM_BUCKETS];
+        private long sortNanos, simulateNanos;
+
+        private Run(String policy, int processCount) {
+            event.policy = policy;
+            event.processes = processCount;
+            event.begin();
+        }
+
+        // The CPU was given to a process chosen from a queue of the given depth
+        void decision(int queueDepth) {
+            decisions++;
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+            queueDepthHistogram[queueDepth == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(queueDepth)]++;
+        }
+
+        // The CPU passed to another process; preempted if the previous one had work left
+        void switched(boolean preempted) {
+            contextSwitches++;
+            if (preempted) preemptions++;
+        }
+
+        // queueDepth processes waited (the running one included) for ticks time units
+        void ran(int queueDepth, int ticks) {
+            depthTime += (long) queueDepth * ticks;
+        }
+
+        void idle(int ticks) {
+            idleTicks += ticks;
+        }
+
+        void sortDone() {
+            long now = System.nanoTime();
+            sortNanos += now - phaseStart;
+            phaseStart = now;
+        }
+
+        void simulateDone() {
+            long now = System.nanoTime();
+            simulateNanos += now - phaseStart;
+            phaseStart = now;
+        }
+
+        void finish(int makespan) {
+            long allocated = allocatedBytes() - startAllocated;
+            synchronized (INSTANCE) {
+                INSTANCE.runs++;
+                INSTANCE.decisions += decisions;
+                INSTANCE.contextSwitches += contextSwitches;
+                INSTANCE.preemptions += preemptions;
+                INSTANCE.idleTicks += idleTicks;
+                INSTANCE.simulatedTicks += makespan;
+                INSTANCE.depthTime += depthTime;
+                INSTANCE.maxQueueDepth = Math.max(INSTANCE.maxQueueDepth, maxQueueDepth);
+                for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                    INSTANCE.queueDepthHistogram[i] += queueDepthHistogram[i];
+                }
+                INSTANCE.sortNanos += sortNanos;
+                INSTANCE.simulateNanos += simulateNanos;
+                INSTANCE.allocatedBytes += allocated;
+                INSTANCE.lastRunAllocatedBytes = allocated;
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.decisions = decisions;
+                event.contextSwitches = contextSwitches;
+                event.preemptions = preemptions;
+                event.idleTicks = idleTicks;
+                event.maxQueueDepth = maxQueueDepth;
+                event.meanQueueDepth = makespan == 0 ? 0 : (double) depthTime / makespan;
+                event.sortTime = sortNanos;
+                event.simulateTime = simulateNanos;
+                event.allocated = allocated;
+                event.commit();
+            }
+        }
+
+        // -1 where the JVM cannot measure allocation
+        private static long allocatedBytes() {
+            return THREADS instanceof com.sun.management.ThreadMXBean threads
+                    ? threads.getCurrentThreadAllocatedBytes() : -1;
+        }
+    }
+
+    @Name("scheduler.Run")
+    @Label("Scheduler Run")
+    @Category("Priority Scheduling")
+    @Description("One Scheduler.runPreemptive or runNonPreemptive call")
+    static final class RunEvent extends jdk.jfr.Event {
+        @Label("Policy")
+        String policy;
+        @Label("Processes")
+        int processes;
+        @Label("Decisions")
+        long decisions;
+        @Label("Context Switches")
+        long contextSwitches;
+        @Label("Preemptions")
+        long preemptions;
+        @Label("Idle Ticks")
+        long idleTicks;
+        @Label("Max Queue Depth")
+        int maxQueueDepth;
+        @Label("Mean Queue Depth")
+        double meanQueueDepth;
+        @Label("Sort Time")
+        @Timespan
+        long sortTime;
+        @Label("Simulate Time")
+        @Timespan
+        long simulateTime;
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+    }
+
+    @Override
+    public synchronized long getRuns() {
+        return runs;
+    }
+
+    @Override
+    public synchronized long getDecisions() {
+        return decisions;
+    }
+
+    @Override
+    public synchronized long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    @Override
+    public synchronized long getPreemptions() {
+        return preemptions;
+    }
+
+    @Override
+    public synchronized long getIdleTicks() {
+        return idleTicks;
+    }
+
+    @Override
+    public synchronized long getSimulatedTicks() {
+        return simulatedTicks;
+    }
+
+    @Override
+    public synchronized int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    @Override
+    public synchronized double getMeanQueueDepth() {
+        return simulatedTicks == 0 ? 0 : (double) depthTime / simulatedTicks;
+    }
+
+    @Override
+    public synchronized long[] getQueueDepthHistogram() {
+        return queueDepthHistogram.clone();
+    }
+
+    @Override
+    public synchronized long getSortNanos() {
+        return sortNanos;
+    }
+
+    @Override
+    public synchronized long getSimulateNanos() {
+        return simulateNanos;
+    }
+
+    @Override
+    public synchronized long getReportNanos() {
+        return reportNanos;
+    }
+
+    @Override
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public synchronized long getLastRunAllocatedBytes() {
+        return lastRunAllocatedBytes;
+    }
+
+    @Override
+    public synchronized void reset() {
+        runs = decisions = contextSwitches = preemptions = idleTicks = simulatedTicks = 0;
+        depthTime = 0;
+        maxQueueDepth = 0;
+        Arrays.fill(queueDepthHistogram, 0);
+        sortNanos = simulateNanos = reportNanos = 0;
+        allocatedBytes = lastRunAllocatedBytes = 0;
+    }
+}
@@ -0,0 +1,38 @@
+// Management interface of SchedulerStats, registered as PriorityScheduling:type=SchedulerStats.
+// Totals cover every Scheduler run since start-up or the last reset. Times are nanoseconds.
+// Only single-CPU Scheduler.runPreemptive/runNonPreemptive runs are counted; MultiCoreScheduler
+// and OnlineScheduler are not instrumented. Report time covers every report written from a
+// SchedulingResult, whichever scheduler produced it.
+public interface SchedulerStatsMXBean {
+    long getRuns();
+
+    long getDecisions();
+
+    long getContextSwitches();
+
+    long getPreemptions();
+
+    long getIdleTicks();
+
+    long getSimulatedTicks();
+
+    int getMaxQueueDepth();
+
+    // Ready-queue depth averaged over simulated time
+    double getMeanQueueDepth();
+
+    // Decisions by ready-queue depth: entry k counts depths in [2^(k-1), 2^k), entry 0 depth 0
+    long[] getQueueDepthHistogram();
+
+    long getSortNanos();
+
+    long getSimulateNanos();
+
+    long getReportNanos();
+
+    long getAllocatedBytes();
+
+    long getLastRunAllocatedBytes();
+
+    void reset();
+}
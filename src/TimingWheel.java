@@ -0,0 +1,134 @@
+import java.util.Arrays;
+
+// Hierarchical timing wheel of slot numbers keyed by a non-negative int time, for the
+// pending arrivals of OnlineScheduler. Six levels of 64 buckets cover the whole int
+// range: an entry sits on the level of the highest 6-bit group in which its time differs
+// from the wheel's current time, in the bucket given by that group of its time. Moving
+// the wheel forward only re-files the one bucket per level that the new time falls in,
+// and every entry moves down at most once per level, so add, poll and nextTime are
+// amortized O(1) however far apart the times are.
+//
+// A bitmap per level finds the first non-empty bucket with numberOfTrailingZeros, and
+// each bucket tracks its earliest time, so the next time is found without scanning. The
+// buckets are a fixed 384 lists threaded through a per-slot array, so memory follows
+// the number of slots, not the span of times.
+//
+// Subclasses give each slot's time and the order of slots due at the same time.
+abstract class TimingWheel {
+    private static final int BITS = 6;
+    private static final int BUCKETS = 1 << BITS;
+    private static final int LEVELS = 6;
+
+    private final int[] head = new int[LEVELS * BUCKETS];
+    private final int[] tail = new int[LEVELS * BUCKETS];
+    private final int[] earliest = new int[LEVELS * BUCKETS];
+    private final long[] occupied = new long[LEVELS];
+    private int[] next = new int[16];
+    private int now;
+    private int size;
+    // Entries due at now, sorted, and how many of them have been polled
+    private int[] due = new int[16];
+    private int dueCount;
+    private int dueIndex;
+
+    TimingWheel() {
+        Arrays.fill(head, -1);
+        Arrays.fill(earliest, Integer.MAX_VALUE);
+    }
+
+    abstract int time(int slot);
+
+    // Order of slots whose times are equal
+    abstract boolean before(int a, int b);
+
+    int size() {
+        return size;
+    }
+
+    // time(slot) must not be before the time of the last entry polled
+    void add(int slot, int time) {
+        if (time < now) throw new IllegalArgumentException("Time " + time + " is before the wheel's time " + now);
+        if (slot >= next.length) next = Arrays.copyOf(next, Math.max(slot + 1, next.length * 2));
+        file(slot, time);
+        size++;
+    }
+
+    // Earliest time of any entry, or Integer.MAX_VALUE when empty
+    int nextTime() {
+        if (dueIndex < dueCount) return now;
+        for (int level = 0; level < LEVELS; level++) {
+            if (occupied[level] != 0) {
+                return earliest[level * BUCKETS + Long.numberOfTrailingZeros(occupied[level])];
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    // Next slot whose time is at or before time, earliest first and in before() order
+    // among equal times; -1 when there is none
+    int poll(int time) {
+        if (size == 0) return -1;
+        if (dueIndex == dueCount) {
+            int first = nextTime();
+            if (first > time) return -1;
+            advance(first);
+        }
+        size--;
+        return due[dueIndex++];
+    }
+
+    // Moves the wheel to time, which no entry precedes, and takes the entries due then
+    private void advance(int time) {
+        now = time;
+        // Top down, so entries re-filed from a level are re-filed again lower if needed
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int bucket = level * BUCKETS + ((time >>> (BITS * level)) & (BUCKETS - 1));
+            int slot = take(level, bucket);
+            while (slot >= 0) {
+                int following = next[slot];
+                file(slot, time(slot));
+                slot = following;
+            }
+        }
+
+        dueCount = 0;
+        dueIndex = 0;
+        for (int slot = take(0, time & (BUCKETS - 1)); slot >= 0; slot = next[slot]) {
+            if (dueCount == due.length) due = Arrays.copyOf(due, dueCount * 2);
+            // Insertion sort: entries mostly arrive in order already
+            int i = dueCount++;
+            while (i > 0 && before(slot, due[i - 1])) {
+                due[i] = due[i - 1];
+                i--;
+            }
+            due[i] = slot;
+        }
+    }
+
+    private void file(int slot, int time) {
+        int differing = time ^ now;
+        int level = differing == 0 ? 0 : (31 - Integer.numberOfLeadingZeros(differing)) / BITS;
+        int index = (time >>> (BITS * level)) & (BUCKETS - 1);
+        int bucket = level * BUCKETS + index;
+        next[slot] = -1;
+        if (head[bucket] < 0) {
+            head[bucket] = slot;
+            occupied[level] |= 1L << index;
+        } else {
+            next[tail[bucket]] = slot;
+        }
+        tail[bucket] = slot;
+        earliest[bucket] = Math.min(earliest[bucket], time);
+    }
+
+    // Empties a bucket and returns its first slot; the rest follow through next
+    private int take(int level, int bucket) {
+        int first = head[bucket];
+        if (first >= 0) {
+            head[bucket] = -1;
+            earliest[bucket] = Integer.MAX_VALUE;
+            occupied[level] &= ~(1L << (bucket & (BUCKETS - 1)));
+        }
+        return first;
+    }
+}
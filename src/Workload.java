@@ -0,0 +1,32 @@
+// Read-only, index-based view of a process table (id, arrival, burst, priority).
+// Lets Scheduler run over any backing store, such as a ProcessTable or a
+// memory-mapped binary workload, without first copying it into objects.
+interface Workload {
+    int size();
+
+    int id(int index);
+
+    int arrival(int index);
+
+    int burst(int index);
+
+    int priority(int index);
+
+    // CPU the process is pinned to in multi-CPU runs, or -1 to run on any CPU
+    default int affinity(int index) {
+        return -1;
+    }
+
+    // Index orders are stable: rows with equal keys keep their input order
+    default int[] byArrival() {
+        return IndexSort.sort(IndexSort.identity(size()), this::arrival);
+    }
+
+    default int[] byPriority() {
+        return IndexSort.sort(IndexSort.identity(size()), this::priority);
+    }
+
+    default int[] byId() {
+        return IndexSort.sort(IndexSort.identity(size()), this::id);
+    }
+}
@@ -0,0 +1,331 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Seeded synthetic workloads large enough for scaling tests. The same Spec always
+// produces the same processes, whatever the number of threads.
+//
+// Processes are generated in fixed-size chunks, in parallel. Each chunk draws from its
+// own SplittableRandom streams seeded from the spec's seed: one for inter-arrival gaps
+// and one for bursts and priorities. A first pass only replays the gap streams to find
+// where each chunk starts in time; the second pass generates the chunks for real and
+// writes them straight into ProcessTable columns or a binary workload file.
+//
+// Usage: java WorkloadGenerator --processes 10000000 --output workload.bin|workload.csv
+//                               [--seed 1] [--load 0.9] [--arrivals poisson|bursty[:BATCH]]
+//                               [--bursts uniform:MIN:MAX|pareto:MEAN:ALPHA|lognormal:MEAN:SIGMA]
+//                               [--max-burst N] [--priorities LEVELS] [--skew S] [--collisions RATE]
+public class WorkloadGenerator {
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    static class Spec {
+        long seed = 1;
+        int processCount = 1000;
+        // Mean burst over mean inter-arrival gap; above 1 the ready queue grows without bound
+        double load = 0.9;
+
+        // "poisson": exponential gaps. "bursty": arrivals come in batches of batchMean
+        // processes on average (geometric sizes) at the same instant, with exponential
+        // gaps between batches.
+        String arrivals = "poisson";
+        double batchMean = 8;
+
+        // "uniform": minBurst..maxBurst. "pareto": mean burstMean with tail index
+        // burstShape (> 1). "lognormal": mean burstMean with log-space sigma burstShape.
+        // Heavy-tailed bursts are capped at burstCap.
+        String bursts = "uniform";
+        int minBurst = 1, maxBurst = 10;
+        double burstMean = 10, burstShape = 1.5;
+        int burstCap = 1_000_000;
+
+        // Priorities 1..priorityLevels with P(k) proportional to 1 / k^skew, so 0 is
+        // uniform and larger values crowd processes into the top levels. collisionRate
+        // is the chance that a process repeats the previous process's priority, which
+        // makes ties between neighbouring arrivals common even with many levels.
+        int priorityLevels = 10;
+        double skew = 0;
+        double collisionRate = 0;
+
+        void validate() {
+            if (processCount <= 0) throw new IllegalArgumentException("Process count must be greater than 0");
+            if (!(load > 0)) throw new IllegalArgumentException("Load must be greater than 0");
+            if (!arrivals.equals("poisson") && !arrivals.equals("bursty")) {
+                throw new IllegalArgumentException("Unknown arrival model: " + arrivals);
+            }
+            if (!(batchMean >= 1)) throw new IllegalArgumentException("Batch mean must be at least 1");
+            switch (bursts) {
+                case "uniform" -> {
+                    if (minBurst <= 0 || maxBurst < minBurst) {
+                        throw new IllegalArgumentException("Uniform bursts need 0 < MIN <= MAX");
+                    }
+                }
+                case "pareto" -> {
+                    if (!(burstShape > 1)) throw new IllegalArgumentException("Pareto ALPHA must be greater than 1");
+                }
+                case "lognormal" -> {
+                    if (!(burstShape > 0)) throw new IllegalArgumentException("Lognormal SIGMA must be greater than 0");
+                }
+                default -> throw new IllegalArgumentException("Unknown burst model: " + bursts);
+            }
+            if (!bursts.equals("uniform") && !(burstMean >= 1)) {
+                throw new IllegalArgumentException("Mean burst must be at least 1");
+            }
+            if (burstCap <= 0) throw new IllegalArgumentException("--max-burst must be greater than 0");
+            if (priorityLevels <= 0) throw new IllegalArgumentException("Priority levels must be greater than 0");
+            if (!(skew >= 0)) throw new IllegalArgumentException("Skew must not be negative");
+            if (!(collisionRate >= 0 && collisionRate <= 1)) {
+                throw new IllegalArgumentException("Collision rate must be between 0 and 1");
+            }
+        }
+
+        double meanBurst() {
+            return bursts.equals("uniform") ? (minBurst + maxBurst) / 2.0 : burstMean;
+        }
+    }
+
+    static ProcessTable generate(Spec spec) {
+        spec.validate();
+        int n = spec.processCount;
+        int[] ids = new int[n];
+        int[] arrivals = new int[n];
+        int[] bursts = new int[n];
+        int[] priorities = new int[n];
+        new WorkloadGenerator(spec).generate((chunk, count, first) -> {
+            System.arraycopy(chunk.ids, 0, ids, first, count);
+            System.arraycopy(chunk.arrivals, 0, arrivals, first, count);
+            System.arraycopy(chunk.bursts, 0, bursts, first, count);
+            System.arraycopy(chunk.priorities, 0, priorities, first, count);
+        });
+        return new ProcessTable(ids, arrivals, bursts, priorities);
+    }
+
+    // Writes a binary workload (BinaryWorkload format) without holding it in memory
+    static void writeBinary(Spec spec, Path file) throws IOException {
+        spec.validate();
+        BinaryWorkload.WorkloadWriter writer = BinaryWorkload.create(file, spec.processCount);
+        new WorkloadGenerator(spec).generate((chunk, count, first) -> {
+            for (int i = 0; i < count; i++) {
+                writer.put(first + i, chunk.ids[i], chunk.arrivals[i], chunk.bursts[i], chunk.priorities[i]);
+            }
+        });
+    }
+
+    private interface ChunkSink {
+        // Called from worker threads, for different chunks at once
+        void accept(Chunk chunk, int count, int first);
+    }
+
+    private static final class Chunk {
+        final int[] ids = new int[CHUNK_SIZE];
+        final int[] arrivals = new int[CHUNK_SIZE];
+        final int[] bursts = new int[CHUNK_SIZE];
+        final int[] priorities = new int[CHUNK_SIZE];
+    }
+
+    private final Spec spec;
+    private final int chunkCount;
+    private final long[] arrivalSeeds;
+    private final long[] attributeSeeds;
+    private final double meanGap;
+    private final double[] priorityCdf;   // null for uniform priorities
+    private final double paretoScale, lognormalMu;
+
+    private WorkloadGenerator(Spec spec) {
+        this.spec = spec;
+        chunkCount = (spec.processCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom root = new SplittableRandom(spec.seed);
+        arrivalSeeds = new long[chunkCount];
+        attributeSeeds = new long[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            arrivalSeeds[c] = root.nextLong();
+            attributeSeeds[c] = root.nextLong();
+        }
+        meanGap = spec.meanBurst() / spec.load;
+
+        if (spec.skew == 0) {
+            priorityCdf = null;
+        } else {
+            priorityCdf = new double[spec.priorityLevels];
+            double total = 0;
+            for (int k = 0; k < priorityCdf.length; k++) {
+                total += Math.pow(k + 1, -spec.skew);
+                priorityCdf[k] = total;
+            }
+            for (int k = 0; k < priorityCdf.length; k++) {
+                priorityCdf[k] /= total;
+            }
+        }
+        paretoScale = spec.burstMean * (spec.burstShape - 1) / spec.burstShape;
+        lognormalMu = Math.log(spec.burstMean) - spec.burstShape * spec.burstShape / 2;
+    }
+
+    private void generate(ChunkSink sink) {
+        // Pass 1: time spanned by each chunk's gaps, then where each chunk starts
+        double[] starts = new double[chunkCount + 1];
+        IntStream.range(0, chunkCount).parallel().forEach(c -> {
+            SplittableRandom random = new SplittableRandom(arrivalSeeds[c]);
+            double time = 0;
+            for (int i = 0, count = chunkLength(c); i < count; i++) {
+                time += gap(random);
+            }
+            starts[c + 1] = time;
+        });
+        for (int c = 0; c < chunkCount; c++) {
+            starts[c + 1] += starts[c];
+        }
+        // The end of the last chunk is the last arrival
+        if (starts[chunkCount] >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Arrivals would pass " + Integer.MAX_VALUE
+                    + "; lower the process count or mean burst, or raise the load");
+        }
+
+        // Pass 2: the processes themselves
+        ThreadLocal<Chunk> buffers = ThreadLocal.withInitial(Chunk::new);
+        IntStream.range(0, chunkCount).parallel().forEach(c -> {
+            Chunk chunk = buffers.get();
+            int first = c * CHUNK_SIZE;
+            int count = chunkLength(c);
+            SplittableRandom arrivalRandom = new SplittableRandom(arrivalSeeds[c]);
+            SplittableRandom random = new SplittableRandom(attributeSeeds[c]);
+            double time = starts[c];
+            int previousPriority = 0;
+            for (int i = 0; i < count; i++) {
+                time += gap(arrivalRandom);
+                int priority = i > 0 && spec.collisionRate > 0 && random.nextDouble() < spec.collisionRate
+                        ? previousPriority : priority(random);
+                chunk.ids[i] = first + i + 1;
+                chunk.arrivals[i] = (int) time;
+                chunk.bursts[i] = burst(random);
+                chunk.priorities[i] = priority;
+                previousPriority = priority;
+            }
+            sink.accept(chunk, count, first);
+        });
+    }
+
+    private int chunkLength(int chunk) {
+        return Math.min(CHUNK_SIZE, spec.processCount - chunk * CHUNK_SIZE);
+    }
+
+    // Time from the previous arrival; the first process of the workload arrives after one gap too
+    private double gap(SplittableRandom random) {
+        if (spec.arrivals.equals("poisson")) {
+            return exponential(random, meanGap);
+        }
+        // A batch ends after each process with probability 1 / batchMean
+        if (random.nextDouble() * spec.batchMean >= 1) return 0;
+        return exponential(random, meanGap * spec.batchMean);
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private int burst(SplittableRandom random) {
+        double burst = switch (spec.bursts) {
+            case "uniform" -> spec.minBurst + random.nextInt(spec.maxBurst - spec.minBurst + 1);
+            case "pareto" -> paretoScale / Math.pow(1 - random.nextDouble(), 1 / spec.burstShape);
+            default -> Math.exp(lognormalMu + spec.burstShape * random.nextGaussian());
+        };
+        return (int) Math.max(1, Math.min(spec.burstCap, Math.round(burst)));
+    }
+
+    private int priority(SplittableRandom random) {
+        if (priorityCdf == null) return 1 + random.nextInt(spec.priorityLevels);
+        double u = random.nextDouble();
+        int low = 0, high = priorityCdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (priorityCdf[mid] > u) high = mid;
+            else low = mid + 1;
+        }
+        return low + 1;
+    }
+
+    public static void main(String[] args) {
+        Spec spec = new Spec();
+        Path output = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                if (value == null) throw new IllegalArgumentException("Missing value for " + args[i]);
+                switch (args[i++]) {
+                    case "--processes" -> spec.processCount = Integer.parseInt(value);
+                    case "--output" -> output = Path.of(value);
+                    case "--seed" -> spec.seed = Long.parseLong(value);
+                    case "--load" -> spec.load = Double.parseDouble(value);
+                    case "--arrivals" -> parseArrivals(spec, value);
+                    case "--bursts" -> parseBursts(spec, value);
+                    case "--max-burst" -> spec.burstCap = Integer.parseInt(value);
+                    case "--priorities" -> spec.priorityLevels = Integer.parseInt(value);
+                    case "--skew" -> spec.skew = Double.parseDouble(value);
+                    case "--collisions" -> spec.collisionRate = Double.parseDouble(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i - 1]);
+                }
+            }
+            if (output == null) throw new IllegalArgumentException("Missing --output");
+            spec.validate();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java WorkloadGenerator --processes N --output workload.bin|workload.csv "
+                    + "[--seed 1] [--load 0.9] [--arrivals poisson|bursty[:BATCH]] "
+                    + "[--bursts uniform:MIN:MAX|pareto:MEAN:ALPHA|lognormal:MEAN:SIGMA] [--max-burst N] "
+                    + "[--priorities LEVELS] [--skew S] [--collisions RATE]");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            if (output.getFileName().toString().endsWith(".bin")) {
+                writeBinary(spec, output);
+            } else {
+                writeCsv(generate(spec), output);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Same layout WorkloadReader reads
+    private static void writeCsv(Workload workload, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            ReportWriter writer = new ReportWriter(out);
+            out.append("id,arrival,burst,priority\n");
+            for (int i = 0; i < workload.size(); i++) {
+                writer.appendInt(workload.id(i));
+                out.append(',');
+                writer.appendInt(workload.arrival(i));
+                out.append(',');
+                writer.appendInt(workload.burst(i));
+                out.append(',');
+                writer.appendInt(workload.priority(i));
+                out.append('\n');
+            }
+        }
+    }
+
+    // "poisson", "bursty" or "bursty:BATCH"
+    private static void parseArrivals(Spec spec, String value) {
+        String[] parts = value.split(":");
+        spec.arrivals = parts[0];
+        if (parts.length > 1) spec.batchMean = Double.parseDouble(parts[1]);
+    }
+
+    // "uniform:MIN:MAX", "pareto:MEAN:ALPHA" or "lognormal:MEAN:SIGMA"; omitted numbers keep their defaults
+    private static void parseBursts(Spec spec, String value) {
+        String[] parts = value.split(":");
+        spec.bursts = parts[0];
+        if (parts[0].equals("uniform")) {
+            if (parts.length > 1) spec.minBurst = Integer.parseInt(parts[1]);
+            if (parts.length > 2) spec.maxBurst = Integer.parseInt(parts[2]);
+        } else {
+            if (parts.length > 1) spec.burstMean = Double.parseDouble(parts[1]);
+            if (parts.length > 2) spec.burstShape = Double.parseDouble(parts[2]);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Streaming reader for CSV workload files with one process per line:
+// id, arrival, burst, priority and an optional CPU affinity. Bytes are parsed
+// straight out of a fixed-size buffer, so memory use does not depend on the size
+// of the file. A leading UTF-8 byte order mark, blank lines, lines starting with '#'
+// and a header line are skipped. The header must be the first line that is not blank
+// or a comment, start with a letter and have no field made only of digits; anything
+// else that is not a number is an error, so a data row is never mistaken for a header.
+class WorkloadReader {
+    interface ProcessConsumer {
+        // affinity is -1 when the line has no affinity column
+        void accept(int id, int arrival, int burst, int priority, int affinity);
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MIN_FIELDS = 4;
+    private static final int FIELDS = 5;
+
+    static void read(Path file, ProcessConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new WorkloadReader(consumer).parse(channel);
+        }
+    }
+
+    private final ProcessConsumer consumer;
+    private final int[] fields = new int[FIELDS];
+    private long lineNumber = 1;
+    private int fieldIndex;
+    private long value;
+    private boolean negative;
+    private boolean hasDigits;
+    private boolean lineHasContent;
+    private boolean skipLine;
+    private boolean headerAllowed = true;
+    // Header line being read: its first character and what the current field holds
+    private boolean header;
+    private char headerFirst;
+    private boolean headerFieldDigits;
+    private boolean headerFieldOther;
+
+    private WorkloadReader(ProcessConsumer consumer) {
+        this.consumer = consumer;
+    }
+
+    private void parse(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        boolean first = true;
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            if (first) {
+                skipByteOrderMark(buffer);
+                first = false;
+            }
+            while (buffer.hasRemaining()) {
+                accept(buffer.get());
+            }
+            buffer.clear();
+        }
+        endLine();
+    }
+
+    private static void skipByteOrderMark(ByteBuffer buffer) {
+        if (buffer.remaining() >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB
+                && (buffer.get(2) & 0xFF) == 0xBF) {
+            buffer.position(3);
+        }
+    }
+
+    private void accept(byte b) {
+        if (b == '\n') {
+            endLine();
+            return;
+        }
+        if (skipLine || b == '\r') return;
+        if (header) {
+            acceptHeader(b);
+            return;
+        }
+
+        if (b >= '0' && b <= '9') {
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE + 1L) throw error("number out of range");
+            hasDigits = true;
+            lineHasContent = true;
+        } else if (b == ',') {
+            endField();
+            lineHasContent = true;
+        } else if (b == '-' && !hasDigits && !negative) {
+            negative = true;
+            lineHasContent = true;
+        } else if (b == ' ' || b == '\t') {
+            // Whitespace around fields is ignored
+        } else if (b == '#' && !lineHasContent) {
+            skipLine = true;
+        } else if (headerAllowed && !lineHasContent && isLetter(b)) {
+            // The first non-comment line may be a header such as "id,arrival,burst,priority"
+            header = true;
+            headerAllowed = false;
+            headerFirst = (char) b;
+            headerFieldOther = true;
+        } else {
+            throw error("unexpected character '" + (char) b + "'");
+        }
+    }
+
+    private void acceptHeader(byte b) {
+        if (b == ',') {
+            endHeaderField();
+        } else if (b >= '0' && b <= '9') {
+            headerFieldDigits = true;
+        } else if (b != ' ' && b != '\t') {
+            headerFieldOther = true;
+        }
+    }
+
+    // A field of digits alone means the line was data with a typo, not a header
+    private void endHeaderField() {
+        if (headerFieldDigits && !headerFieldOther) throw error("unexpected character '" + headerFirst + "'");
+        headerFieldDigits = false;
+        headerFieldOther = false;
+    }
+
+    private static boolean isLetter(byte b) {
+        return b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z';
+    }
+
+    private void endField() {
+        if (!hasDigits) throw error("empty field");
+        if (fieldIndex == FIELDS) throw error("expected " + MIN_FIELDS + " or " + FIELDS + " fields");
+        long signed = negative ? -value : value;
+        if (signed > Integer.MAX_VALUE) throw error("number out of range");
+        fields[fieldIndex++] = (int) signed;
+        value = 0;
+        negative = false;
+        hasDigits = false;
+    }
+
+    private void endLine() {
+        if (header) {
+            endHeaderField();
+            header = false;
+        } else if (!skipLine && lineHasContent) {
+            endField();
+            if (fieldIndex < MIN_FIELDS) throw error("expected " + MIN_FIELDS + " or " + FIELDS + " fields");
+            int affinity = fieldIndex == FIELDS ? fields[4] : -1;
+            validate(fields[0], fields[1], fields[2], fields[3]);
+            if (fieldIndex == FIELDS && affinity < 0) {
+                throw error("CPU affinity cannot be negative for Process " + fields[0]);
+            }
+            consumer.accept(fields[0], fields[1], fields[2], fields[3], affinity);
+            headerAllowed = false;
+        }
+        lineNumber++;
+        fieldIndex = 0;
+        value = 0;
+        negative = false;
+        hasDigits = false;
+        lineHasContent = false;
+        skipLine = false;
+    }
+
+    private void validate(int id, int arrival, int burst, int priority) {
+        String problem = problem(id, arrival, burst, priority);
+        if (problem != null) throw error(problem);
+    }
+
+    // Same rules as the process table in Main; null when the process is valid. Shared with
+    // BinaryWorkload so both formats reject the same rows.
+    static String problem(int id, int arrival, int burst, int priority) {
+        if (burst <= 0) return "Burst time must be greater than 0 for Process " + id;
+        if (priority <= 0) return "Priority must be greater than 0 for Process " + id;
+        if (arrival < 0) return "Arrival time cannot be negative for Process " + id;
+        return null;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Line " + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,137 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Differential test: a chain of random single-row edits applied through
+// IncrementalScheduler.update must give the same schedule as scheduling each edited
+// workload from scratch. Workloads are a few thousand processes so that runs take
+// several checkpoints and edits resume from the middle of the schedule.
+class IncrementalSchedulerTest {
+    private static final int PROCESSES = 3000;
+    private static final int HORIZON = 15000;
+    private static final int EDITS = 40;
+
+    @Test
+    void preemptiveEditsMatchFreshRuns() {
+        check(true, null, 1);
+    }
+
+    @Test
+    void nonPreemptiveEditsMatchFreshRuns() {
+        check(false, null, 2);
+    }
+
+    @Test
+    void agingEditsMatchFreshRuns() {
+        check(true, new Scheduler.Aging(50, 1), 3);
+        check(false, new Scheduler.Aging(50, 1), 4);
+    }
+
+    private static void check(boolean preemptive, Scheduler.Aging aging, long seed) {
+        Random random = new Random(seed);
+        ProcessTable workload = new ProcessTable();
+        for (int i = 0; i < PROCESSES; i++) {
+            workload.add(i + 1, random.nextInt(HORIZON), 1 + random.nextInt(8), 1 + random.nextInt(8));
+        }
+        IncrementalScheduler schedule = preemptive
+                ? IncrementalScheduler.runPreemptive(workload, aging, null)
+                : IncrementalScheduler.runNonPreemptive(workload, aging, null);
+        assertSameSchedule(fresh(workload, preemptive, aging), schedule.result(), "initial run");
+
+        for (int edit = 0; edit < EDITS; edit++) {
+            int row = random.nextInt(workload.size());
+            int kind = random.nextInt(5);
+            ProcessTable after = copy(workload, -1, -1);
+            switch (kind) {
+                case 0 -> after.set(row, changed(random, workload.arrival(row), 0, HORIZON),
+                        workload.burst(row), workload.priority(row));
+                case 1 -> after.set(row, workload.arrival(row), changed(random, workload.burst(row), 1, 9),
+                        workload.priority(row));
+                case 2 -> after.set(row, workload.arrival(row), workload.burst(row),
+                        changed(random, workload.priority(row), 1, 9));
+                case 3 -> after = copy(workload, -1, row);
+                default -> after = copy(workload, row, -1);
+            }
+            if (kind == 3) {
+                after.set(row, random.nextInt(HORIZON), 1 + random.nextInt(8), 1 + random.nextInt(8));
+            }
+
+            // As in Main: edits that change the row count are scheduled from scratch
+            IncrementalScheduler next = schedule.update(after, null);
+            if (after.size() == workload.size()) {
+                assertNotNull(next, "edit " + edit + " of one row");
+            } else {
+                assertNull(next, "edit " + edit + " changing the row count");
+                next = preemptive
+                        ? IncrementalScheduler.runPreemptive(after, aging, null)
+                        : IncrementalScheduler.runNonPreemptive(after, aging, null);
+            }
+            assertSameSchedule(fresh(after, preemptive, aging), next.result(),
+                    "edit " + edit + " (kind " + kind + ")");
+
+            // The earlier schedule is left as it was
+            assertSameSchedule(fresh(workload, preemptive, aging), schedule.result(),
+                    "schedule before edit " + edit);
+            workload = after;
+            schedule = next;
+        }
+    }
+
+    private static Scheduler.SchedulingResult fresh(Workload workload, boolean preemptive, Scheduler.Aging aging) {
+        return preemptive ? Scheduler.runPreemptive(workload, aging) : Scheduler.runNonPreemptive(workload, aging);
+    }
+
+    // A value in [low, high) other than value, so that every edit changes the row
+    private static int changed(Random random, int value, int low, int high) {
+        int other = low + random.nextInt(high - low - 1);
+        return other >= value ? other + 1 : other;
+    }
+
+    // workload without row skip, and with a new process (arrival, burst and priority set
+    // by the caller) inserted before row insertAt; -1 for neither
+    private static ProcessTable copy(Workload workload, int skip, int insertAt) {
+        ProcessTable copy = new ProcessTable(workload.size() + 1);
+        int maxId = 0;
+        for (int i = 0; i < workload.size(); i++) {
+            maxId = Math.max(maxId, workload.id(i));
+        }
+        for (int i = 0; i < workload.size(); i++) {
+            if (i == insertAt) copy.add(maxId + 1, 0, 1, 1);
+            if (i != skip) copy.add(workload.id(i), workload.arrival(i), workload.burst(i), workload.priority(i));
+        }
+        return copy;
+    }
+
+    private static void assertSameSchedule(Scheduler.SchedulingResult expected,
+                                           Scheduler.SchedulingResult actual, String what) {
+        assertArrayEquals(expected.finish, actual.finish, what + ": finish times");
+        assertArrayEquals(expected.byId, actual.byId, what + ": id order");
+        assertEquals(gantt(expected.ganttEntries), gantt(actual.ganttEntries), what + ": Gantt entries");
+        assertEquals(timeline(expected.executionSteps), timeline(actual.executionSteps), what + ": timeline");
+        assertEquals(expected.firstProcessInfo, actual.firstProcessInfo, what + ": first process");
+    }
+
+    private static String gantt(GanttEntryList entries) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < entries.size(); i++) {
+            sb.append('P').append(entries.processId(i)).append(' ')
+                    .append(entries.start(i)).append('-').append(entries.end(i)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String timeline(ExecutionTimeline timeline) {
+        StringBuilder sb = new StringBuilder();
+        for (int run = 0; run < timeline.runCount(); run++) {
+            sb.append('P').append(timeline.runProcessId(run)).append(' ')
+                    .append(timeline.runStart(run)).append('-').append(timeline.runEnd(run))
+                    .append(" remaining ").append(timeline.runRemainingAtStart(run)).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,251 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Checks the event-driven Scheduler against the original tick-by-tick simulation, kept
+// below as Reference. Workloads are small and seeded, with narrow arrival and priority
+// ranges so that ties, idle gaps and preemptions are common.
+class SchedulerReferenceTest {
+    private static final int WORKLOADS = 2000;
+
+    @Test
+    void preemptiveMatchesReference() {
+        Random random = new Random(1);
+        for (int i = 0; i < WORKLOADS; i++) {
+            List<Main.Process> input = randomWorkload(random, 1 + random.nextInt(12), 5);
+            assertMatches(Reference.runPreemptive(input), Scheduler.runPreemptive(input), "workload " + i);
+        }
+    }
+
+    @Test
+    void nonPreemptiveMatchesReference() {
+        Random random = new Random(2);
+        for (int i = 0; i < WORKLOADS; i++) {
+            List<Main.Process> input = randomWorkload(random, 1 + random.nextInt(12), 5);
+            assertMatches(Reference.runNonPreemptive(input), Scheduler.runNonPreemptive(input), "workload " + i);
+        }
+    }
+
+    // The scheduler switches from the bucket queue to the heap once priorities span
+    // BucketReadyQueue.MAX_LEVELS; both sides of the switch must schedule alike
+    @Test
+    void bucketQueueBoundaryMatchesReference() {
+        Random random = new Random(3);
+        for (int span : new int[]{BucketReadyQueue.MAX_LEVELS - 1, BucketReadyQueue.MAX_LEVELS}) {
+            int[] levels = {1, 2, 1 + span / 2, span, 1 + span};
+            for (int i = 0; i < WORKLOADS / 4; i++) {
+                List<Main.Process> input = randomWorkload(random, 2 + random.nextInt(11), levels.length);
+                // Pin the extremes so the span is exact, then spread the rest over the levels
+                input.get(0).priority = 1;
+                input.get(1).priority = 1 + span;
+                for (int k = 2; k < input.size(); k++) {
+                    input.get(k).priority = levels[input.get(k).priority - 1];
+                }
+                String what = "span " + span + ", workload " + i;
+                assertMatches(Reference.runPreemptive(input), Scheduler.runPreemptive(input), what);
+                assertMatches(Reference.runNonPreemptive(input), Scheduler.runNonPreemptive(input), what);
+            }
+        }
+    }
+
+    // Distinct ids in shuffled order, so that input order, arrival order and id order differ
+    private static List<Main.Process> randomWorkload(Random random, int n, int priorities) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= n; id++) {
+            ids.add(id);
+        }
+        Collections.shuffle(ids, random);
+        List<Main.Process> input = new ArrayList<>();
+        for (int id : ids) {
+            input.add(new Main.Process(id, random.nextInt(15), 1 + random.nextInt(8), 1 + random.nextInt(priorities)));
+        }
+        return input;
+    }
+
+    private static void assertMatches(Reference.Result expected, Scheduler.SchedulingResult actual, String what) {
+        assertEquals(expected.output, withoutPercentiles(actual.output()), what);
+        assertEquals(expected.gantt, gantt(actual.ganttEntries), what);
+        assertEquals(expected.firstProcessInfo, actual.firstProcessInfo, what);
+    }
+
+    // The percentile tables came later and have no counterpart in the reference
+    private static String withoutPercentiles(String output) {
+        int percentiles = output.indexOf("\n\nWaiting Time Percentiles:");
+        return percentiles < 0 ? output : output.substring(0, percentiles);
+    }
+
+    private static String gantt(GanttEntryList entries) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < entries.size(); i++) {
+            sb.append('P').append(entries.processId(i)).append(' ')
+                    .append(entries.start(i)).append('-').append(entries.end(i)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    // The scheduler as it was before the event-driven rewrite: one loop iteration per time
+    // unit, a list sorted by priority as the ready queue, and String.format for the report
+    static class Reference {
+        static class Result {
+            final String output;
+            final String gantt;
+            final String firstProcessInfo;
+
+            Result(String output, String gantt, String firstProcessInfo) {
+                this.output = output;
+                this.gantt = gantt;
+                this.firstProcessInfo = firstProcessInfo;
+            }
+        }
+
+        static Result runPreemptive(List<Main.Process> input) {
+            List<Main.Process> processes = copy(input);
+            StringBuilder gantt = new StringBuilder();
+            StringBuilder timeline = new StringBuilder();
+
+            int time = 0;
+            int completedCount = 0;
+            Main.Process current = null;
+            List<Main.Process> readyQueue = new ArrayList<>();
+            int lastProcessId = -1;
+            int startTime = 0;
+            String firstProcessInfo = "";
+
+            while (completedCount < processes.size()) {
+                for (Main.Process p : processes) {
+                    if (p.arrival == time) readyQueue.add(p);
+                }
+                readyQueue.sort(Comparator.comparingInt(p -> p.priority));
+
+                if (!readyQueue.isEmpty()) {
+                    Main.Process next = readyQueue.get(0);
+                    if (current != next && current != null && lastProcessId != -1) {
+                        ganttEntry(gantt, lastProcessId, startTime, time);
+                    }
+                    current = next;
+                    if (firstProcessInfo.isEmpty()) firstProcessInfo = firstProcessInfo(current);
+                    if (lastProcessId != current.id) {
+                        lastProcessId = current.id;
+                        startTime = time;
+                    }
+
+                    current.remaining--;
+                    step(timeline, time, current.id, current.remaining, current.remaining == 0);
+
+                    if (current.remaining == 0) {
+                        current.finish = time + 1;
+                        current.turnaround = current.finish - current.arrival;
+                        current.waiting = current.turnaround - current.burst;
+                        ganttEntry(gantt, current.id, startTime, time + 1);
+                        readyQueue.remove(current);
+                        completedCount++;
+                        lastProcessId = -1;
+                    }
+                }
+                time++;
+            }
+            return new Result(report("Preemptive Priority Scheduling", processes, timeline), gantt.toString(),
+                    firstProcessInfo);
+        }
+
+        static Result runNonPreemptive(List<Main.Process> input) {
+            List<Main.Process> processes = copy(input);
+            List<Main.Process> completed = new ArrayList<>();
+            StringBuilder gantt = new StringBuilder();
+            StringBuilder timeline = new StringBuilder();
+
+            processes.sort(Comparator.comparingInt(p -> p.arrival));
+            int time = 0;
+            String firstProcessInfo = "";
+
+            while (!processes.isEmpty()) {
+                List<Main.Process> available = new ArrayList<>();
+                for (Main.Process p : processes) {
+                    if (p.arrival <= time) available.add(p);
+                }
+                if (available.isEmpty()) {
+                    time++;
+                    continue;
+                }
+
+                available.sort(Comparator.comparingInt(p -> p.priority));
+                Main.Process current = available.get(0);
+                if (firstProcessInfo.isEmpty()) firstProcessInfo = firstProcessInfo(current);
+                ganttEntry(gantt, current.id, time, time + current.burst);
+                for (int i = 0; i < current.burst; i++) {
+                    step(timeline, time + i, current.id, current.burst - i - 1, i == current.burst - 1);
+                }
+
+                time += current.burst;
+                current.finish = time;
+                current.turnaround = time - current.arrival;
+                current.waiting = current.turnaround - current.burst;
+                completed.add(current);
+                processes.remove(current);
+            }
+            return new Result(report("Non-Preemptive Priority Scheduling", completed, timeline), gantt.toString(),
+                    firstProcessInfo);
+        }
+
+        private static List<Main.Process> copy(List<Main.Process> input) {
+            List<Main.Process> processes = new ArrayList<>();
+            for (Main.Process p : input) {
+                processes.add(new Main.Process(p.id, p.arrival, p.burst, p.priority));
+            }
+            return processes;
+        }
+
+        private static String firstProcessInfo(Main.Process p) {
+            return String.format("First Process to Execute: P%d (Priority: %d, Arrival: %d, Burst: %d)",
+                    p.id, p.priority, p.arrival, p.burst);
+        }
+
+        private static void ganttEntry(StringBuilder gantt, int processId, int start, int end) {
+            gantt.append('P').append(processId).append(' ').append(start).append('-').append(end).append('\n');
+        }
+
+        private static void step(StringBuilder timeline, int time, int processId, int remaining, boolean completion) {
+            if (completion) {
+                timeline.append(String.format("Time %d: Process P%d completed", time, processId));
+            } else {
+                timeline.append(String.format("Time %d: Process P%d executing (remaining: %d)",
+                        time, processId, remaining));
+            }
+            timeline.append('\n');
+        }
+
+        private static String report(String title, List<Main.Process> processes, StringBuilder timeline) {
+            StringBuilder sb = new StringBuilder(title).append("\n\n");
+            sb.append("Execution Timeline:\n");
+            sb.append("-".repeat(50)).append("\n");
+            sb.append(timeline).append("\n");
+
+            sb.append("Process Completion Summary:\n");
+            sb.append(String.format("%-12s%-18s%-18s%-18s\n", "Process", "Completion Time", "Waiting Time",
+                    "Turnaround Time"));
+            sb.append("-".repeat(68)).append("\n");
+            double totalWaiting = 0, totalTurnaround = 0;
+            processes.sort(Comparator.comparingInt(p -> p.id));
+            for (Main.Process p : processes) {
+                sb.append(String.format("%-12s%-18d%-18d%-18d\n", "P" + p.id, p.finish, p.waiting, p.turnaround));
+                totalWaiting += p.waiting;
+                totalTurnaround += p.turnaround;
+            }
+            sb.append("-".repeat(68)).append("\n");
+            sb.append(String.format(Locale.ROOT, "%-50s%.2f\n", "Average Waiting Time:",
+                    totalWaiting / processes.size()));
+            sb.append(String.format(Locale.ROOT, "%-50s%.2f\n", "Average Turnaround Time:",
+                    totalTurnaround / processes.size()));
+            sb.append(String.format("%-50s%d", "Total Execution Time:",
+                    processes.stream().mapToInt(p -> p.finish).max().orElse(0)));
+            return sb.toString();
+        }
+    }
+}